@@ -0,0 +1,4 @@
+package surge.actors.benchmarks.generated;
+public class AskBenchmark_jmhType extends AskBenchmark_jmhType_B3 {
+}
+
@@ -0,0 +1,4 @@
+package surge.actors.benchmarks.generated;
+public class FanInBenchmark_jmhType extends FanInBenchmark_jmhType_B3 {
+}
+
@@ -0,0 +1,4 @@
+package surge.actors.benchmarks.generated;
+public class PingPongBenchmark_jmhType extends PingPongBenchmark_jmhType_B3 {
+}
+
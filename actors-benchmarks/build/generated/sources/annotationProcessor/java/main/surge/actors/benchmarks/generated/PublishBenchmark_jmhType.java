@@ -0,0 +1,4 @@
+package surge.actors.benchmarks.generated;
+public class PublishBenchmark_jmhType extends PublishBenchmark_jmhType_B3 {
+}
+
@@ -0,0 +1,4 @@
+package surge.actors.benchmarks.generated;
+public class ReceiveTimeoutBenchmark_jmhType extends ReceiveTimeoutBenchmark_jmhType_B3 {
+}
+
@@ -0,0 +1,4 @@
+package surge.actors.benchmarks.generated;
+public class SpawnStopBenchmark_jmhType extends SpawnStopBenchmark_jmhType_B3 {
+}
+
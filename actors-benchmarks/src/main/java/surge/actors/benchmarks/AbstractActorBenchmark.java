@@ -0,0 +1,98 @@
+package surge.actors.benchmarks;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import surge.actors.Scheduler;
+import surge.actors.actors.LocalActorFactory;
+import surge.actors.dispatchers.ExecutorServiceScheduler;
+import surge.actors.dispatchers.HashedWheelScheduler;
+import surge.actors.dispatchers.PinnedScheduler;
+
+/**
+ * Base class for benchmarks that run actors: creates the scheduler before each trial
+ * and shuts it down afterwards. Every benchmark runs with each scheduler implementation.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public abstract class AbstractActorBenchmark {
+
+  @Param({ "executor", "wheel", "pinned" })
+  public String scheduler;
+
+  private ForkJoinPool pool;
+  private ScheduledExecutorService scheduledExecutorService;
+  private HashedWheelScheduler wheelScheduler;
+  private PinnedScheduler pinnedScheduler;
+
+  protected LocalActorFactory factory;
+
+  @Setup(Level.Trial)
+  public void createActorSystem() throws Exception {
+    pool = new ForkJoinPool(
+        Runtime.getRuntime().availableProcessors(),
+        ForkJoinPool.defaultForkJoinWorkerThreadFactory,
+        null,
+        true
+    );
+
+    final Scheduler actorScheduler;
+    switch (scheduler) {
+      case "wheel":
+        wheelScheduler = new HashedWheelScheduler(pool);
+        actorScheduler = wheelScheduler;
+        break;
+      case "executor":
+        scheduledExecutorService = Executors.newSingleThreadScheduledExecutor();
+        actorScheduler = new ExecutorServiceScheduler(pool, scheduledExecutorService);
+        break;
+      case "pinned":
+        scheduledExecutorService = Executors.newSingleThreadScheduledExecutor();
+        pinnedScheduler = new PinnedScheduler(scheduledExecutorService);
+        actorScheduler = pinnedScheduler;
+        break;
+      default:
+        throw new IllegalArgumentException("Unknown scheduler: " + scheduler);
+    }
+
+    factory = new LocalActorFactory(actorScheduler);
+
+    createActors();
+  }
+
+  @TearDown(Level.Trial)
+  public void shutdownActorSystem() {
+    if (wheelScheduler != null) {
+      wheelScheduler.shutdown();
+    }
+    if (pinnedScheduler != null) {
+      pinnedScheduler.shutdown();
+    }
+    if (scheduledExecutorService != null) {
+      scheduledExecutorService.shutdownNow();
+    }
+    pool.shutdownNow();
+  }
+
+  /**
+   * Creates the actors for the benchmark, invoked after the scheduler has been created.
+   */
+  protected abstract void createActors() throws Exception;
+}
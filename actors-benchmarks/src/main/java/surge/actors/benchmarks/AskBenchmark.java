@@ -0,0 +1,35 @@
+package surge.actors.benchmarks;
+
+import java.time.Duration;
+import org.openjdk.jmh.annotations.Benchmark;
+import surge.actors.Actor;
+import surge.actors.Receiver;
+
+/**
+ * Asks an actor that replies immediately and waits for the reply. Measures round
+ * trips per second.
+ */
+public class AskBenchmark extends AbstractActorBenchmark {
+  private final static Object QUESTION = "question";
+  private final static Object ANSWER = "answer";
+  private final static Duration TIMEOUT = Duration.ofSeconds(10);
+
+  private Actor asker;
+  private Actor responder;
+
+  @Override
+  protected void createActors() {
+    responder = factory.spawn(ctx -> Receiver.builder()
+        .matchAny((msg, context) -> {
+          context.getSender().tell(ANSWER, context.getSelf());
+        })
+        .compile(), "responder");
+
+    asker = factory.spawn(ctx -> Receiver.builder().build(), "asker");
+  }
+
+  @Benchmark
+  public Object ask() {
+    return asker.ask(responder, QUESTION, TIMEOUT).toCompletableFuture().join();
+  }
+}
@@ -0,0 +1,21 @@
+package surge.actors.benchmarks;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the benchmarks with the GC profiler enabled, so that allocation rates are
+ * reported alongside the throughput. Accepts the regular JMH command line arguments.
+ */
+public class BenchmarkRunner {
+
+  public static void main(final String[] args) throws Exception {
+    new Runner(new OptionsBuilder()
+        .parent(new CommandLineOptions(args))
+        .addProfiler(GCProfiler.class)
+        .build()
+    ).run();
+  }
+}
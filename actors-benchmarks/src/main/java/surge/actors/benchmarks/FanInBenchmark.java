@@ -0,0 +1,68 @@
+package surge.actors.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.Param;
+import surge.actors.Actor;
+import surge.actors.Receiver;
+
+/**
+ * A number of sender actors that concurrently send messages to a single receiving
+ * actor. Measures messages per second received by the sink.
+ */
+public class FanInBenchmark extends AbstractActorBenchmark {
+  private final static int MESSAGES = 64_000;
+  private final static Object GO = "go";
+  private final static Object MESSAGE = "message";
+
+  @Param({ "1", "4", "16" })
+  public int senders;
+
+  private Actor sink;
+  private final List<Actor> senderActors = new ArrayList<>();
+  private volatile CountDownLatch done;
+
+  @Override
+  protected void createActors() {
+    sink = factory.spawn(ctx -> {
+      final int[] count = new int[1];
+
+      return Receiver.builder()
+          .matchAny((msg, context) -> {
+            if (++ count[0] == MESSAGES) {
+              count[0] = 0;
+              done.countDown();
+            }
+          })
+          .compile();
+    }, "sink");
+
+    final int messagesPerSender = MESSAGES / senders;
+    senderActors.clear();
+    for (int i = 0; i < senders; ++ i) {
+      senderActors.add(factory.spawn(ctx -> Receiver.builder()
+          .matchAny((msg, context) -> {
+            for (int n = 0; n < messagesPerSender; ++ n) {
+              sink.tell(MESSAGE, context.getSelf());
+            }
+          })
+          .compile(), "sender-" + i));
+    }
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(MESSAGES)
+  public void fanIn() throws InterruptedException {
+    final CountDownLatch latch = new CountDownLatch(1);
+    done = latch;
+
+    for (final Actor sender : senderActors) {
+      sender.tell(GO, sender);
+    }
+
+    latch.await();
+  }
+}
@@ -0,0 +1,54 @@
+package surge.actors.benchmarks;
+
+import java.util.concurrent.CountDownLatch;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import surge.actors.Actor;
+import surge.actors.Receiver;
+
+/**
+ * Two actors sending a single message back and forth. Measures round trips per second.
+ */
+public class PingPongBenchmark extends AbstractActorBenchmark {
+  private final static int ROUND_TRIPS = 10_000;
+  private final static Object BALL = "ball";
+
+  private Actor ping;
+  private Actor pong;
+  private volatile CountDownLatch done;
+
+  @Override
+  protected void createActors() {
+    pong = factory.spawn(ctx -> Receiver.builder()
+        .matchAny((msg, context) -> {
+          context.getSender().tell(msg, context.getSelf());
+        })
+        .compile(), "pong");
+
+    ping = factory.spawn(ctx -> {
+      final int[] count = new int[1];
+
+      return Receiver.builder()
+          .matchAny((msg, context) -> {
+            if (++ count[0] == ROUND_TRIPS) {
+              count[0] = 0;
+              done.countDown();
+            } else {
+              pong.tell(msg, context.getSelf());
+            }
+          })
+          .compile();
+    }, "ping");
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(ROUND_TRIPS)
+  public void tellPingPong() throws InterruptedException {
+    final CountDownLatch latch = new CountDownLatch(1);
+    done = latch;
+
+    pong.tell(BALL, ping);
+
+    latch.await();
+  }
+}
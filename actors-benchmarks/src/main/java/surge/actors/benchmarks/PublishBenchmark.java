@@ -0,0 +1,72 @@
+package surge.actors.benchmarks;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.Param;
+import surge.actors.ActorFactory.FactoryWithContext;
+import surge.actors.Filter;
+import surge.actors.Receiver;
+import surge.actors.actors.LocalActor;
+
+/**
+ * Publishes messages from the root of a two level tree of actors. With <code>#</code>
+ * every actor in the tree receives the message, with <code>+/+</code> only the leaves
+ * do. Measures published messages per second.
+ */
+public class PublishBenchmark extends AbstractActorBenchmark {
+  private final static int FANOUT = 10;
+  private final static int PUBLISHES = 100;
+  private final static Object MESSAGE = "message";
+
+  @Param({ "#", "+/+" })
+  public String filter;
+
+  private LocalActor root;
+  private Filter publishFilter;
+  private int deliveriesPerPublish;
+  private final AtomicInteger remaining = new AtomicInteger();
+  private volatile CountDownLatch done;
+
+  @Override
+  protected void createActors() {
+    publishFilter = Filter.of(filter);
+    deliveriesPerPublish = "#".equals(filter) ? FANOUT + FANOUT * FANOUT : FANOUT * FANOUT;
+
+    final FactoryWithContext leaf = ctx -> Receiver.builder()
+        .matchAny((msg, context) -> {
+          if (remaining.decrementAndGet() == 0) {
+            done.countDown();
+          }
+        })
+        .compile();
+
+    root = factory.spawn(ctx -> {
+      for (int i = 0; i < FANOUT; ++ i) {
+        ctx.spawn(child -> {
+          for (int j = 0; j < FANOUT; ++ j) {
+            child.spawn(leaf, "leaf-" + j);
+          }
+          return leaf.apply(child);
+        }, "node-" + i);
+      }
+
+      return Receiver.builder().build();
+    }, "root");
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(PUBLISHES)
+  public void publish() throws InterruptedException {
+    final CountDownLatch latch = new CountDownLatch(1);
+    done = latch;
+    remaining.set(PUBLISHES * deliveriesPerPublish);
+
+    for (int i = 0; i < PUBLISHES; ++ i) {
+      root.publish(publishFilter, MESSAGE, root);
+    }
+
+    latch.await();
+  }
+}
@@ -0,0 +1,57 @@
+package surge.actors.benchmarks;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.Param;
+import surge.actors.Actor;
+import surge.actors.Receiver;
+
+/**
+ * Sends messages to an actor with and without an active receive timeout, which is
+ * reset by every message. The difference between both is the cost of the reset.
+ */
+public class ReceiveTimeoutBenchmark extends AbstractActorBenchmark {
+  private final static int MESSAGES = 10_000;
+  private final static Object MESSAGE = "message";
+
+  @Param({ "false", "true" })
+  public boolean receiveTimeout;
+
+  private Actor actor;
+  private volatile CountDownLatch done;
+
+  @Override
+  protected void createActors() {
+    actor = factory.spawn(ctx -> {
+      if (receiveTimeout) {
+        ctx.setReceiveTimeout(Duration.ofMinutes(10));
+      }
+
+      final int[] count = new int[1];
+
+      return Receiver.builder()
+          .matchAny((msg, context) -> {
+            if (++ count[0] == MESSAGES) {
+              count[0] = 0;
+              done.countDown();
+            }
+          })
+          .compile();
+    }, "actor");
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(MESSAGES)
+  public void receiveWithTimeout() throws InterruptedException {
+    final CountDownLatch latch = new CountDownLatch(1);
+    done = latch;
+
+    for (int i = 0; i < MESSAGES; ++ i) {
+      actor.tell(MESSAGE, actor);
+    }
+
+    latch.await();
+  }
+}
@@ -0,0 +1,56 @@
+package surge.actors.benchmarks;
+
+import java.util.concurrent.CountDownLatch;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import surge.actors.Actor;
+import surge.actors.ActorFactory.FactoryWithContext;
+import surge.actors.Receiver;
+import surge.actors.messages.ChildTerminated;
+import surge.actors.messages.Stop;
+
+/**
+ * A parent actor that spawns children and immediately stops them. Measures children
+ * per second that have been spawned and have terminated.
+ */
+public class SpawnStopBenchmark extends AbstractActorBenchmark {
+  private final static int CHILDREN = 1_000;
+  private final static Object SPAWN = "spawn";
+
+  private Actor parent;
+  private volatile CountDownLatch done;
+
+  @Override
+  protected void createActors() {
+    final FactoryWithContext child = ctx -> Receiver.builder().build();
+
+    parent = factory.spawn(ctx -> {
+      final int[] terminated = new int[1];
+
+      return Receiver.builder()
+          .match(ChildTerminated.class, (msg, context) -> {
+            if (++ terminated[0] == CHILDREN) {
+              terminated[0] = 0;
+              done.countDown();
+            }
+          })
+          .equals(SPAWN, (msg, context) -> {
+            for (int i = 0; i < CHILDREN; ++ i) {
+              context.spawn(child, "child-" + i).tell(new Stop(), context.getSelf());
+            }
+          })
+          .compile();
+    }, "parent");
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(CHILDREN)
+  public void spawnAndStop() throws InterruptedException {
+    final CountDownLatch latch = new CountDownLatch(1);
+    done = latch;
+
+    parent.tell(SPAWN, parent);
+
+    latch.await();
+  }
+}
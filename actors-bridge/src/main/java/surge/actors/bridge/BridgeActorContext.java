@@ -11,9 +11,11 @@ public class BridgeActorContext extends LocalActorContext {
 
   public BridgeActorContext(final LocalActor parentActor, final Scheduler scheduler,
       final Node node) {
-    super(parentActor, scheduler);
+    super(parentActor, scheduler,
+        Objects.requireNonNull(node, "node cannot be null").getMailboxFactory(),
+        node.getLifecycleListener());
 
-    this.node = Objects.requireNonNull(node, "node cannot be null");
+    this.node = node;
   }
 
   @Override
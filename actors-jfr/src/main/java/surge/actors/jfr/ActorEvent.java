@@ -0,0 +1,14 @@
+package surge.actors.jfr;
+
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+
+/**
+ * Base class of the events that are recorded for an actor. The events are committed
+ * without begin() and end(), their start time is the time at which they are recorded.
+ */
+abstract class ActorEvent extends Event {
+
+  @Label("Actor")
+  String actor;
+}
@@ -0,0 +1,19 @@
+package surge.actors.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("surge.actors.ActorFailure")
+@Label("Actor Failure")
+@Category({ "Surge", "Actors" })
+@Description("An actor failed to handle a message and has been suspended")
+class ActorFailureEvent extends ActorEvent {
+
+  @Label("Exception Class")
+  Class<?> exceptionClass;
+
+  @Label("Message")
+  String message;
+}
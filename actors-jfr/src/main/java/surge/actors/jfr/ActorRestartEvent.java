@@ -0,0 +1,13 @@
+package surge.actors.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("surge.actors.ActorRestart")
+@Label("Actor Restart")
+@Category({ "Surge", "Actors" })
+@Description("An actor has been restarted by its supervisor")
+class ActorRestartEvent extends ActorEvent {
+}
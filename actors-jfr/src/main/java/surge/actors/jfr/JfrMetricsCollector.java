@@ -0,0 +1,122 @@
+package surge.actors.jfr;
+
+import surge.actors.Mailbox;
+import surge.actors.Path;
+import surge.actors.metrics.ActorMetrics;
+import surge.actors.metrics.MetricsCollector;
+import java.time.Duration;
+import java.util.Objects;
+
+/**
+ * Metrics collector that emits Java Flight Recorder events. Attach it to a scheduler
+ * with {@link surge.actors.metrics.InstrumentedScheduler}, alongside a
+ * {@link surge.actors.metrics.MetricsRegistry} if the scheduler is monitored as well.
+ * Events are only created when they are enabled in the running recording, otherwise
+ * recording a metric costs little more than a check of the event settings, so the
+ * collector can stay attached in production.
+ *
+ * The metrics are reported once the measured work is done, so the events carry the
+ * measured time in a field of their own and have no JFR duration. The JFR threshold
+ * setting therefore doesn't filter them. Receive events are only emitted for messages
+ * that took at least the receive threshold of the collector to handle.
+ */
+public class JfrMetricsCollector implements MetricsCollector {
+
+  private final long receiveThresholdNanos;
+
+  public JfrMetricsCollector() {
+    this(Duration.ofMillis(10));
+  }
+
+  public JfrMetricsCollector(final Duration receiveThreshold) {
+    Objects.requireNonNull(receiveThreshold, "receiveThreshold cannot be null");
+
+    if (receiveThreshold.isNegative()) {
+      throw new IllegalArgumentException("receiveThreshold cannot be negative");
+    }
+
+    this.receiveThresholdNanos = receiveThreshold.toNanos();
+  }
+
+  @Override
+  public ActorMetrics register(final Path path, final Mailbox mailbox) {
+    return new Recorder(Objects.requireNonNull(path, "path cannot be null").getFullName());
+  }
+
+  private final class Recorder implements ActorMetrics {
+    private final String actor;
+
+    Recorder(final String actor) {
+      this.actor = actor;
+    }
+
+    @Override
+    public void recordQueueDelay(final long nanos) {
+      final MailboxScheduledEvent event = new MailboxScheduledEvent();
+      if (event.shouldCommit()) {
+        event.actor = actor;
+        event.queueDelay = nanos;
+        event.commit();
+      }
+    }
+
+    @Override
+    public void recordMessage(final long nanos, final boolean failed) {
+      if (nanos < receiveThresholdNanos) {
+        return;
+      }
+
+      final ReceiveEvent event = new ReceiveEvent();
+      if (event.shouldCommit()) {
+        event.actor = actor;
+        event.receiveDuration = nanos;
+        event.failed = failed;
+        event.commit();
+      }
+    }
+
+    @Override
+    public void recordDrain(final long nanos, final int messages) {
+      final MailboxDrainEvent event = new MailboxDrainEvent();
+      if (event.shouldCommit()) {
+        event.actor = actor;
+        event.drainDuration = nanos;
+        event.messages = messages;
+        event.commit();
+      }
+    }
+
+    @Override
+    public void recordFailure(final Exception cause) {
+      final ActorFailureEvent event = new ActorFailureEvent();
+      if (event.shouldCommit()) {
+        event.actor = actor;
+        event.exceptionClass = cause.getClass();
+        event.message = cause.getMessage();
+        event.commit();
+      }
+    }
+
+    @Override
+    public void recordRestart() {
+      final ActorRestartEvent event = new ActorRestartEvent();
+      if (event.shouldCommit()) {
+        event.actor = actor;
+        event.commit();
+      }
+    }
+
+    @Override
+    public void recordReceiveTimeout() {
+      final ReceiveTimeoutEvent event = new ReceiveTimeoutEvent();
+      if (event.shouldCommit()) {
+        event.actor = actor;
+        event.commit();
+      }
+    }
+
+    @Override
+    public void close() {
+    }
+  }
+}
@@ -0,0 +1,22 @@
+package surge.actors.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+
+@Name("surge.actors.MailboxDrain")
+@Label("Mailbox Drain")
+@Category({ "Surge", "Actors" })
+@Description("A mailbox delivered its pending messages")
+class MailboxDrainEvent extends ActorEvent {
+
+  @Label("Drain Duration")
+  @Timespan(Timespan.NANOSECONDS)
+  long drainDuration;
+
+  @Label("Messages")
+  @Description("Number of non-system messages that have been delivered")
+  int messages;
+}
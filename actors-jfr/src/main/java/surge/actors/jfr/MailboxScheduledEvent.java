@@ -0,0 +1,19 @@
+package surge.actors.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+
+@Name("surge.actors.MailboxScheduled")
+@Label("Mailbox Scheduled")
+@Category({ "Surge", "Actors" })
+@Description("A mailbox started delivering messages after it has been scheduled")
+class MailboxScheduledEvent extends ActorEvent {
+
+  @Label("Queue Delay")
+  @Description("Time between scheduling the mailbox and the start of delivery")
+  @Timespan(Timespan.NANOSECONDS)
+  long queueDelay;
+}
@@ -0,0 +1,21 @@
+package surge.actors.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+
+@Name("surge.actors.Receive")
+@Label("Receive")
+@Category({ "Surge", "Actors" })
+@Description("A message took longer to handle than the configured threshold")
+class ReceiveEvent extends ActorEvent {
+
+  @Label("Receive Duration")
+  @Timespan(Timespan.NANOSECONDS)
+  long receiveDuration;
+
+  @Label("Failed")
+  boolean failed;
+}
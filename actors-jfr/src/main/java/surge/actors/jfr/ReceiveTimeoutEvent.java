@@ -0,0 +1,13 @@
+package surge.actors.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("surge.actors.ReceiveTimeout")
+@Label("Receive Timeout")
+@Category({ "Surge", "Actors" })
+@Description("A receive timeout has been delivered to an actor")
+class ReceiveTimeoutEvent extends ActorEvent {
+}
@@ -0,0 +1,121 @@
+package surge.actors.jfr;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.nio.file.Files;
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.Collectors;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.Test;
+import surge.actors.Path;
+import surge.actors.metrics.ActorMetrics;
+
+public class JfrMetricsCollectorTest {
+
+  @Test
+  public void testEvents() throws Exception {
+    final Path path = Path.of(Path.of("parent"), "actor");
+    final ActorMetrics metrics = new JfrMetricsCollector(Duration.ofMillis(10))
+        .register(path, null);
+
+    final List<RecordedEvent> events = record(() -> {
+      metrics.recordQueueDelay(1_000);
+      metrics.recordMessage(Duration.ofMillis(1).toNanos(), false);
+      metrics.recordMessage(Duration.ofMillis(20).toNanos(), true);
+      metrics.recordDrain(2_000, 3);
+      metrics.recordFailure(new IllegalStateException("failed"));
+      metrics.recordRestart();
+      metrics.recordReceiveTimeout();
+    });
+
+    assertEquals(6, events.size());
+    for (final RecordedEvent event : events) {
+      assertEquals(path.getFullName(), event.getString("actor"));
+    }
+
+    final RecordedEvent scheduled = event(events, "surge.actors.MailboxScheduled");
+    assertEquals(Duration.ofNanos(1_000), scheduled.getDuration("queueDelay"));
+
+    // Only the message that took longer than the threshold is recorded:
+    final RecordedEvent receive = event(events, "surge.actors.Receive");
+    assertEquals(Duration.ofMillis(20), receive.getDuration("receiveDuration"));
+    assertTrue(receive.getBoolean("failed"));
+
+    // The measured time is only held in the field, the event itself has no duration:
+    assertEquals(Duration.ZERO, receive.getDuration());
+
+    final RecordedEvent drain = event(events, "surge.actors.MailboxDrain");
+    assertEquals(Duration.ofNanos(2_000), drain.getDuration("drainDuration"));
+    assertEquals(3, drain.getInt("messages"));
+
+    final RecordedEvent failure = event(events, "surge.actors.ActorFailure");
+    assertEquals(IllegalStateException.class.getName(),
+        failure.getClass("exceptionClass").getName());
+    assertEquals("failed", failure.getString("message"));
+
+    event(events, "surge.actors.ActorRestart");
+    event(events, "surge.actors.ReceiveTimeout");
+  }
+
+  @Test
+  public void testDisabledEvents() throws Exception {
+    final ActorMetrics metrics = new JfrMetricsCollector()
+        .register(Path.of("actor"), null);
+
+    final java.nio.file.Path file = Files.createTempFile("actors", ".jfr");
+    try (Recording recording = new Recording()) {
+      recording.disable("surge.actors.MailboxDrain");
+      recording.enable("surge.actors.ActorRestart");
+      recording.start();
+      metrics.recordDrain(2_000, 3);
+      metrics.recordRestart();
+      recording.stop();
+      recording.dump(file);
+
+      final List<RecordedEvent> events = surgeEvents(file);
+      assertEquals(1, events.size());
+      assertEquals("surge.actors.ActorRestart", events.get(0).getEventType().getName());
+    } finally {
+      Files.delete(file);
+    }
+  }
+
+  private static List<RecordedEvent> record(final Runnable task) throws Exception {
+    final java.nio.file.Path file = Files.createTempFile("actors", ".jfr");
+    try (Recording recording = new Recording()) {
+      recording.enable(MailboxScheduledEvent.class);
+      recording.enable(ReceiveEvent.class);
+      recording.enable(MailboxDrainEvent.class);
+      recording.enable(ActorFailureEvent.class);
+      recording.enable(ActorRestartEvent.class);
+      recording.enable(ReceiveTimeoutEvent.class);
+      recording.start();
+      task.run();
+      recording.stop();
+      recording.dump(file);
+
+      return surgeEvents(file);
+    } finally {
+      Files.delete(file);
+    }
+  }
+
+  private static List<RecordedEvent> surgeEvents(final java.nio.file.Path file)
+      throws Exception {
+    return RecordingFile.readAllEvents(file).stream()
+        .filter(event -> event.getEventType().getName().startsWith("surge.actors."))
+        .collect(Collectors.toList());
+  }
+
+  private static RecordedEvent event(final List<RecordedEvent> events, final String name) {
+    final List<RecordedEvent> matching = events.stream()
+        .filter(event -> event.getEventType().getName().equals(name))
+        .collect(Collectors.toList());
+    assertEquals(name, 1, matching.size());
+    return matching.get(0);
+  }
+}
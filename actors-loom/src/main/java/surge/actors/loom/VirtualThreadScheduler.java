@@ -0,0 +1,162 @@
+package surge.actors.loom;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import surge.actors.Path;
+import surge.actors.Scheduler;
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Scheduler that delivers messages on virtual threads. Receivers may block, for
+ * example on JDBC calls, without occupying a platform thread: a blocked virtual thread
+ * releases its carrier thread to other actors.
+ *
+ * By default every mailbox drain runs on a new virtual thread. When actors are
+ * confined, all drains of an actor run on the same virtual thread, which is kept
+ * alive while the actor receives messages and exits after being idle for the keep
+ * alive time. Confinement keeps thread locals, such as a connection bound to the
+ * thread, stable for the lifetime of the actor.
+ *
+ * Delayed tasks are executed on a single platform timer thread and should be short,
+ * for example sending a message to an actor.
+ */
+public class VirtualThreadScheduler implements Scheduler {
+
+  private final static Logger LOG = LoggerFactory.getLogger(VirtualThreadScheduler.class);
+
+  private final ExecutorService executorService;
+  private final ScheduledExecutorService scheduledExecutorService;
+  private final boolean confineActors;
+  private final long keepAliveNanos;
+  private final ThreadFactory confinedThreadFactory;
+  private final ConcurrentHashMap<Path, ConfinedThread> confinedThreads = new ConcurrentHashMap<>();
+
+  public VirtualThreadScheduler() {
+    this(false);
+  }
+
+  public VirtualThreadScheduler(final boolean confineActors) {
+    this(confineActors, Duration.ofSeconds(1));
+  }
+
+  public VirtualThreadScheduler(final boolean confineActors, final Duration keepAlive) {
+    Objects.requireNonNull(keepAlive, "keepAlive cannot be null");
+
+    if (keepAlive.isNegative()) {
+      throw new IllegalArgumentException("keepAlive cannot be negative");
+    }
+
+    this.confineActors = confineActors;
+    this.keepAliveNanos = keepAlive.toNanos();
+    this.executorService = Executors.newThreadPerTaskExecutor(
+        Thread.ofVirtual().name("surge-virtual-", 0).factory());
+    this.confinedThreadFactory = Thread.ofVirtual().factory();
+    this.scheduledExecutorService = Executors.newSingleThreadScheduledExecutor(runnable -> {
+      final Thread thread = new Thread(runnable, "surge-virtual-timer");
+      thread.setDaemon(true);
+      return thread;
+    });
+  }
+
+  public boolean isConfiningActors() {
+    return confineActors;
+  }
+
+  /**
+   * @return The number of actors that currently have a confined thread.
+   */
+  public int getNumberOfConfinedThreads() {
+    return confinedThreads.size();
+  }
+
+  @Override
+  public void schedule(final Runnable runnable) {
+    executorService.execute(runnable);
+  }
+
+  @Override
+  public void schedule(final Path path, final Runnable runnable) {
+    if (!confineActors) {
+      executorService.execute(runnable);
+      return;
+    }
+
+    Objects.requireNonNull(runnable, "runnable cannot be null");
+
+    // The task is added while holding the lock on the entry, so that a thread that is
+    // about to exit either sees the task or has already been removed:
+    confinedThreads.compute(path, (key, current) -> {
+      final ConfinedThread confinedThread = current != null ? current : new ConfinedThread(key);
+      confinedThread.tasks.add(runnable);
+      return confinedThread;
+    });
+  }
+
+  @Override
+  public ScheduledFuture<?> schedule(final Runnable runnable, final Duration delay) {
+    return scheduledExecutorService
+        .schedule(runnable, delay.toNanos(), TimeUnit.NANOSECONDS);
+  }
+
+  public void shutdown() {
+    scheduledExecutorService.shutdown();
+    executorService.shutdown();
+  }
+
+  private final class ConfinedThread implements Runnable {
+    private final Path path;
+    private final LinkedBlockingQueue<Runnable> tasks = new LinkedBlockingQueue<>();
+
+    ConfinedThread(final Path path) {
+      this.path = path;
+
+      final Thread thread = confinedThreadFactory.newThread(this);
+      thread.setName("surge-virtual-" + path.getFullName());
+      thread.start();
+    }
+
+    @Override
+    public void run() {
+      while (true) {
+        final Runnable task;
+        try {
+          task = tasks.poll(keepAliveNanos, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+          // Confined threads are not interrupted by the scheduler, keep serving the actor:
+          continue;
+        }
+
+        if (task != null) {
+          // The thread must keep serving the actor, its entry is only removed on exit:
+          try {
+            task.run();
+          } catch (RuntimeException e) {
+            LOG.error("Task failed on the confined thread of {}", path, e);
+          }
+        } else if (exit()) {
+          return;
+        }
+      }
+    }
+
+    /**
+     * Removes the thread after it has been idle, unless a task has been added in the
+     * mean time.
+     *
+     * @return true if the thread has been removed and must exit.
+     */
+    private boolean exit() {
+      return confinedThreads.computeIfPresent(path,
+          (key, current) -> current == this && tasks.isEmpty() ? null : current) == null;
+    }
+  }
+}
@@ -0,0 +1,93 @@
+package surge.actors.loom;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.After;
+import org.junit.Test;
+import surge.actors.Path;
+import surge.actors.Receiver;
+import surge.actors.actors.LocalActor;
+import surge.actors.actors.LocalActorFactory;
+
+public class VirtualThreadSchedulerTest {
+
+  private final Path path = Path.of("actor");
+  private VirtualThreadScheduler scheduler;
+
+  @After
+  public void shutdown() {
+    scheduler.shutdown();
+  }
+
+  @Test
+  public void testConfinedTasksShareThread() throws Exception {
+    scheduler = new VirtualThreadScheduler(true, Duration.ofSeconds(10));
+    final AtomicReference<Thread> first = new AtomicReference<>();
+    final AtomicReference<Thread> second = new AtomicReference<>();
+    final CountDownLatch done = new CountDownLatch(1);
+
+    scheduler.schedule(path, () -> first.set(Thread.currentThread()));
+    scheduler.schedule(path, () -> {
+      second.set(Thread.currentThread());
+      done.countDown();
+    });
+
+    assertTrue(done.await(5, TimeUnit.SECONDS));
+    assertTrue(first.get().isVirtual());
+    assertSame(first.get(), second.get());
+  }
+
+  @Test
+  public void testConfinedThreadSurvivesFailingTask() throws Exception {
+    scheduler = new VirtualThreadScheduler(true, Duration.ofSeconds(10));
+    final CountDownLatch done = new CountDownLatch(1);
+
+    scheduler.schedule(path, () -> {
+      throw new IllegalStateException("task failed");
+    });
+    scheduler.schedule(path, done::countDown);
+
+    assertTrue(done.await(5, TimeUnit.SECONDS));
+    assertEquals(1, scheduler.getNumberOfConfinedThreads());
+  }
+
+  @Test
+  public void testConfinedThreadExitsWhenIdle() throws Exception {
+    scheduler = new VirtualThreadScheduler(true, Duration.ofMillis(10));
+    final CountDownLatch done = new CountDownLatch(1);
+
+    scheduler.schedule(path, done::countDown);
+    assertTrue(done.await(5, TimeUnit.SECONDS));
+
+    final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+    while (scheduler.getNumberOfConfinedThreads() > 0 && System.nanoTime() < deadline) {
+      Thread.sleep(5);
+    }
+    assertEquals(0, scheduler.getNumberOfConfinedThreads());
+  }
+
+  @Test
+  public void testActorsReceiveOnVirtualThreads() throws Exception {
+    scheduler = new VirtualThreadScheduler(true);
+    final CountDownLatch received = new CountDownLatch(2);
+    final AtomicReference<Thread> thread = new AtomicReference<>();
+
+    final LocalActor actor = new LocalActorFactory(scheduler).spawn(context -> Receiver.builder()
+        .matchAny((msg, ctx) -> {
+          thread.set(Thread.currentThread());
+          received.countDown();
+        })
+        .build(), "actor");
+    actor.tell("first", actor);
+    actor.tell("second", actor);
+
+    assertTrue(received.await(5, TimeUnit.SECONDS));
+    assertTrue(thread.get().isVirtual());
+  }
+}
@@ -0,0 +1,102 @@
+package surge.actors.test;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import surge.actors.Scheduler;
+
+/**
+ * Scheduler that only runs tasks when the test asks for it, on the thread of the test.
+ * Messages that are sent in the mean time pile up in the mailboxes of the actors, which
+ * makes the state of a mailbox predictable. Delayed tasks are kept apart and only run
+ * by {@link #runDelayed()}, whatever their delay.
+ */
+public class ManualScheduler implements Scheduler {
+  private final ConcurrentLinkedQueue<Runnable> tasks = new ConcurrentLinkedQueue<>();
+  private final ConcurrentLinkedQueue<DelayedTask> delayedTasks = new ConcurrentLinkedQueue<>();
+
+  @Override
+  public void schedule(final Runnable runnable) {
+    tasks.offer(runnable);
+  }
+
+  @Override
+  public ScheduledFuture<?> schedule(final Runnable runnable, final Duration delay) {
+    final DelayedTask task = new DelayedTask(runnable, delay);
+    delayedTasks.offer(task);
+    return task;
+  }
+
+  /**
+   * Runs the scheduled tasks, including the tasks they schedule, until no tasks are left.
+   *
+   * @return The number of tasks that have been run.
+   */
+  public int runPending() {
+    Runnable task;
+    int count = 0;
+
+    while ((task = tasks.poll()) != null) {
+      task.run();
+      ++ count;
+    }
+
+    return count;
+  }
+
+  /**
+   * Runs the delayed tasks that have been scheduled so far and haven't been cancelled,
+   * as if their delay expired. Delayed tasks that they schedule are left for the next
+   * call.
+   *
+   * @return The number of delayed tasks that have been run.
+   */
+  public int runDelayed() {
+    final int size = delayedTasks.size();
+    int count = 0;
+
+    for (int i = 0; i < size; ++ i) {
+      final DelayedTask task = delayedTasks.poll();
+
+      if (!task.isCancelled()) {
+        task.run();
+        ++ count;
+      }
+    }
+
+    return count;
+  }
+
+  public int getNumberOfPendingTasks() {
+    return tasks.size();
+  }
+
+  /**
+   * @return The number of delayed tasks that haven't run and haven't been cancelled.
+   */
+  public int getNumberOfDelayedTasks() {
+    return (int) delayedTasks.stream().filter(task -> !task.isCancelled()).count();
+  }
+
+  private static class DelayedTask extends FutureTask<Object> implements ScheduledFuture<Object> {
+    private final Duration delay;
+
+    DelayedTask(final Runnable runnable, final Duration delay) {
+      super(runnable, null);
+      this.delay = delay;
+    }
+
+    @Override
+    public long getDelay(final TimeUnit unit) {
+      return unit.convert(delay.toNanos(), TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public int compareTo(final Delayed other) {
+      return Long.compare(getDelay(TimeUnit.NANOSECONDS), other.getDelay(TimeUnit.NANOSECONDS));
+    }
+  }
+}
@@ -7,6 +7,7 @@ import surge.actors.Actor;
 import surge.actors.MessageContext;
 import surge.actors.Receiver;
 import surge.actors.Scheduler;
+import surge.actors.SpawnOptions;
 
 public class MessageContextTest implements MessageContext {
 
@@ -77,4 +78,9 @@ public class MessageContextTest implements MessageContext {
   public Actor spawn(FactoryWithContext entry, String name) {
     return context.spawn(entry, name);
   }
+
+  @Override
+  public Actor spawn(FactoryWithContext entry, String name, SpawnOptions options) {
+    return context.spawn(entry, name, options);
+  }
 }
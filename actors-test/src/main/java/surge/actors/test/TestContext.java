@@ -7,6 +7,7 @@ import surge.actors.Actor;
 import surge.actors.Context;
 import surge.actors.Receiver;
 import surge.actors.Scheduler;
+import surge.actors.SpawnOptions;
 
 public class TestContext implements Context {
   private final ReceiverTest receiver;
@@ -75,4 +76,9 @@ public class TestContext implements Context {
   public Actor spawn(FactoryWithContext entry, String name) {
     return null;
   }
+
+  @Override
+  public Actor spawn(FactoryWithContext entry, String name, SpawnOptions options) {
+    return null;
+  }
 }
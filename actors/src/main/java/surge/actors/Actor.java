@@ -3,6 +3,7 @@ package surge.actors;
 import surge.actors.actors.Ask;
 import surge.actors.messages.SpawnChild;
 import java.time.Duration;
+import java.util.Collection;
 import java.util.Objects;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
@@ -13,6 +14,30 @@ public interface Actor {
   void tell(Object message, Actor sender);
   void publish(Filter filter, Object message, Actor sender);
 
+  /**
+   * Sends a message like {@link #tell(Object, Actor)}, but reports whether the message
+   * was accepted. Producers can use this to back off when the receiving mailbox is full.
+   *
+   * @return true if the message was accepted, false if it was rejected.
+   */
+  default boolean tryTell(final Object message, final Actor sender) {
+    tell(message, sender);
+    return true;
+  }
+
+  /**
+   * Sends the messages in the order of the collection, as if they were sent with
+   * {@link #tell(Object, Actor)} one after the other. Actors may enqueue the messages
+   * at once, which saves scheduling delivery for every message.
+   */
+  default void tellAll(final Collection<?> messages, final Actor sender) {
+    Objects.requireNonNull(messages, "messages cannot be null");
+
+    for (final Object message : messages) {
+      tell(message, sender);
+    }
+  }
+
   default CompletionStage<Object> ask(final Actor target, final Object message,
       final Duration timeout) {
     Objects.requireNonNull(target, "target cannot be null");
@@ -0,0 +1,37 @@
+package surge.actors;
+
+import java.util.Objects;
+
+/**
+ * Thrown by a {@link BatchReceiver} that failed partway through a batch. The
+ * supervisor of the actor is notified of the cause of the failure.
+ */
+public class BatchException extends Exception {
+  private static final long serialVersionUID = 1L;
+
+  private final int handled;
+
+  /**
+   * @param handled The number of messages at the start of the batch that have been
+   *    handled. The message that follows is the one that failed.
+   * @param cause The cause of the failure.
+   */
+  public BatchException(final int handled, final Exception cause) {
+    super(Objects.requireNonNull(cause, "cause cannot be null"));
+
+    if (handled < 0) {
+      throw new IllegalArgumentException("handled cannot be negative");
+    }
+
+    this.handled = handled;
+  }
+
+  public int getHandled() {
+    return handled;
+  }
+
+  @Override
+  public synchronized Exception getCause() {
+    return (Exception) super.getCause();
+  }
+}
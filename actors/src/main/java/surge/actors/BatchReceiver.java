@@ -0,0 +1,68 @@
+package surge.actors;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Receiver that handles consecutive messages in a single call, for example to write
+ * them to a database in one transaction. The mailbox hands the receiver up to
+ * {@link #getMaxBatchSize()} messages that are waiting when it is drained, it doesn't
+ * wait for more messages to arrive. System messages and published messages are never
+ * part of a batch, they are handled one at a time between batches.
+ *
+ * If {@link #receiveAll(List, Context)} throws, the actor fails like it does when a
+ * single message fails, and its supervisor decides what happens next. By default the
+ * whole batch counts as failed. A receiver that has handled part of the batch throws
+ * a {@link BatchException} to report how many messages it has handled: the failed
+ * message is the one that follows, and the messages after it are delivered again
+ * once the supervisor has resumed or restarted the actor. They become dead letters
+ * if the actor is stopped instead.
+ */
+public interface BatchReceiver extends Receiver {
+
+  /**
+   * @return The maximum number of messages in a batch.
+   */
+  int getMaxBatchSize();
+
+  /**
+   * Handles a batch of messages. The list is only valid during this call.
+   *
+   * @param messages The messages, in the order in which they have been received.
+   * @param context The context of the actor.
+   * @return The receiver that handles the messages that follow, or empty to keep the
+   *    current receiver.
+   */
+  Optional<Receiver> receiveAll(List<Message> messages, Context context) throws Exception;
+
+  /**
+   * Handles a single message as a batch of one.
+   */
+  @Override
+  default Optional<Receiver> receive(final Object message, final MessageContext context)
+      throws Exception {
+    final Actor sender = context.getSender();
+    return receiveAll(Collections.singletonList(new Message() {
+      @Override
+      public Object getPayload() {
+        return message;
+      }
+
+      @Override
+      public Actor getSender() {
+        return sender;
+      }
+
+      @Override
+      public PublishMode getPublishMode() {
+        return PublishMode.LOCAL_AND_PUBLISH;
+      }
+
+      @Override
+      public Optional<Filter> getPublishFilter() {
+        return Optional.empty();
+      }
+    }), context);
+  }
+}
@@ -9,6 +9,7 @@ public interface Context extends ActorFactory {
   Receiver getReceiver();
   Scheduler getScheduler();
   Actor spawn(FactoryWithContext entry);
+  Actor spawn(FactoryWithContext entry, String name, SpawnOptions options);
   Receiver stop();
   Receiver kill();
   void setReceiveTimeout(Duration timeout);
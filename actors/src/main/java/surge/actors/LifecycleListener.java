@@ -0,0 +1,46 @@
+package surge.actors;
+
+/**
+ * Receives lifecycle events of actors. Listeners are invoked synchronously on the
+ * thread of the actor the event is about, mostly while it is dispatching a message,
+ * and should return quickly. All methods do nothing by default.
+ */
+public interface LifecycleListener {
+
+  /**
+   * Invoked after an actor has been spawned and its initial receiver has been created.
+   */
+  default void spawned(final Actor actor) {
+  }
+
+  /**
+   * Invoked after an actor and all of its children have stopped.
+   */
+  default void stopped(final Actor actor) {
+  }
+
+  /**
+   * Invoked after an actor has been restarted by its supervisor.
+   */
+  default void restarted(final Actor actor) {
+  }
+
+  /**
+   * Invoked when an actor failed to handle a message. The actor is suspended until its
+   * supervisor has decided how to handle the failure.
+   */
+  default void failed(final Actor actor, final Exception cause) {
+  }
+
+  /**
+   * Invoked when a receive timeout is delivered to an actor.
+   */
+  default void receiveTimeout(final Actor actor) {
+  }
+
+  /**
+   * Invoked for a message that could not be delivered to an actor.
+   */
+  default void deadLetter(final Actor actor, final Message message) {
+  }
+}
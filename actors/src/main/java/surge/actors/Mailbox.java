@@ -1,7 +1,44 @@
 package surge.actors;
 
+import surge.actors.metrics.ActorMetrics;
+import java.util.Collection;
+
 public interface Mailbox {
 
-  void enqueue(Message message);
+  /**
+   * @param message
+   * @return true if the message was accepted by the mailbox, false if it was rejected
+   *    (e.g. because the mailbox is full or terminated).
+   */
+  boolean enqueue(Message message);
   void enqueueSystemMessage(Message message);
+
+  /**
+   * Enqueues the messages in the order of the collection. Mailboxes may add them to
+   * the queue at once and schedule delivery a single time.
+   *
+   * @return The number of messages that were accepted by the mailbox.
+   */
+  default int enqueueAll(final Collection<? extends Message> messages) {
+    int accepted = 0;
+    for (final Message message : messages) {
+      if (enqueue(message)) {
+        ++ accepted;
+      }
+    }
+    return accepted;
+  }
+
+  /**
+   * @return The (approximate) number of non-system messages waiting in the mailbox.
+   */
+  int getNumberOfMessages();
+
+  /**
+   * Makes the mailbox record metrics of the actor. Invoked at most once, after the
+   * mailbox has been created and before it is unsuspended. Mailboxes that don't
+   * support metrics can ignore this.
+   */
+  default void instrument(final ActorMetrics metrics) {
+  }
 }
@@ -0,0 +1,9 @@
+package surge.actors;
+
+/**
+ * Creates the mailbox for a newly spawned actor.
+ */
+@FunctionalInterface
+public interface MailboxFactory {
+  Mailbox create(PrivateContext context);
+}
@@ -8,6 +8,14 @@ public interface Message {
   PublishMode getPublishMode();
   Optional<Filter> getPublishFilter();
 
+  /**
+   * Returns the filter the message is published with, or null if the message is not
+   * published. Unlike {@link #getPublishFilter()}, this never allocates.
+   */
+  default Filter getPublishFilterOrNull() {
+    return getPublishFilter().orElse(null);
+  }
+
   enum PublishMode {
     LOCAL_AND_PUBLISH,
     PUBLISH_ONLY
@@ -2,7 +2,34 @@ package surge.actors;
 
 /**
  * Specialization of context sent when dispatching a message.
+ *
+ * A message context is only valid while the message is being handled: the actor
+ * system may reuse it for the next message. Handlers that use the context after
+ * returning, for example in a completion callback, must {@link #capture()} it first,
+ * or copy what they need while the message is handled:
+ *
+ * <pre>
+ * .match(Query.class, (query, ctx) -&gt; {
+ *   final Actor sender = ctx.getSender();
+ *   database.query(query).thenAccept(result -&gt; sender.tell(result, ctx.getSelf()));
+ * })
+ * </pre>
  */
 public interface MessageContext extends Context {
+
+  /**
+   * @return The sender of the message that is being handled.
+   * @throws IllegalStateException If the context is used after the message has been
+   *    handled, and the actor system has reused it. Contexts returned by
+   *    {@link #capture()} don't throw.
+   */
   Actor getSender();
+
+  /**
+   * Returns a message context for the current message that remains valid after the
+   * message has been handled.
+   */
+  default MessageContext capture() {
+    return this;
+  }
 }
@@ -1,5 +1,6 @@
 package surge.actors;
 
+import java.util.Arrays;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.stream.Collectors;
@@ -20,6 +21,42 @@ public interface Path {
     );
   }
 
+  /**
+   * Parses the full name of a path, as returned by {@link #getFullName()}. The
+   * returned path is interned.
+   */
+  static Path parse(final String fullName) {
+    Objects.requireNonNull(fullName, "fullName cannot be null");
+
+    Path path = null;
+    int start = 0;
+
+    while (true) {
+      final int end = fullName.indexOf('/', start);
+      final String name = end < 0 ? fullName.substring(start) : fullName.substring(start, end);
+
+      path = PathInterner.intern(path == null ? new RootPath(name) : new SubPath(path, name));
+
+      if (end < 0) {
+        return path;
+      }
+      start = end + 1;
+    }
+  }
+
+  /**
+   * Returns the canonical instance of this path. Interned paths are equal if and only
+   * if they are the same instance. Interned paths are only kept while they are
+   * referenced elsewhere.
+   */
+  default Path intern() {
+    return PathInterner.intern(this);
+  }
+
+  default int getDepth() {
+    return getParent().map(parent -> parent.getDepth() + 1).orElse(1);
+  }
+
   default Stream<String> getElements() {
     return Stream.concat(
         getParent()
@@ -32,8 +69,22 @@ public interface Path {
     return getElements().collect(Collectors.joining("/"));
   }
 
+  private static String[] elementsOf(final Path path) {
+    final String[] elements = new String[path.getDepth()];
+
+    Path current = path;
+    for (int i = elements.length - 1; i >= 0; -- i) {
+      elements[i] = current.getName();
+      current = current.getParent().orElse(null);
+    }
+
+    return elements;
+  }
+
   final class RootPath implements Path {
     private final String name;
+    private final int hash;
+    boolean interned = false;
 
     public RootPath(final String name) {
       this.name = Objects.requireNonNull(name, "name cannot be null");
@@ -41,6 +92,8 @@ public interface Path {
       if (name.contains("/")) {
         throw new IllegalArgumentException("Actor names must not contain /");
       }
+
+      this.hash = name.hashCode();
     }
 
     @Override
@@ -53,6 +106,21 @@ public interface Path {
       return Optional.empty();
     }
 
+    @Override
+    public int getDepth() {
+      return 1;
+    }
+
+    @Override
+    public Stream<String> getElements() {
+      return Stream.of(name);
+    }
+
+    @Override
+    public String getFullName() {
+      return name;
+    }
+
     @Override
     public String toString() {
       return getFullName();
@@ -67,18 +135,25 @@ public interface Path {
         return false;
       }
 
-      return Objects.equals(name, ((RootPath) o).name);
+      final RootPath rootPath = (RootPath) o;
+      return hash == rootPath.hash && (!interned || !rootPath.interned)
+          && name.equals(rootPath.name);
     }
 
     @Override
     public int hashCode() {
-      return Objects.hash(name);
+      return hash;
     }
   }
 
   final class SubPath implements Path {
     private final Path parent;
+    private final Optional<Path> optionalParent;
     private final String name;
+    private final int hash;
+    private final int depth;
+    private String fullName = null;
+    boolean interned = false;
 
     public SubPath(final Path parent, final String name) {
       this.parent = Objects.requireNonNull(parent, "parent cannot be null");
@@ -87,6 +162,10 @@ public interface Path {
       if (name.contains("/")) {
         throw new IllegalArgumentException("Actor names must not contain /");
       }
+
+      this.optionalParent = Optional.of(parent);
+      this.hash = 31 * parent.hashCode() + name.hashCode();
+      this.depth = parent.getDepth() + 1;
     }
 
     @Override
@@ -96,7 +175,28 @@ public interface Path {
 
     @Override
     public Optional<Path> getParent() {
-      return Optional.of(parent);
+      return optionalParent;
+    }
+
+    @Override
+    public int getDepth() {
+      return depth;
+    }
+
+    @Override
+    public Stream<String> getElements() {
+      return Arrays.stream(Path.elementsOf(this));
+    }
+
+    @Override
+    public String getFullName() {
+      // Computed at most a few times concurrently, the result is always the same:
+      String result = fullName;
+      if (result == null) {
+        result = parent.getFullName() + "/" + name;
+        fullName = result;
+      }
+      return result;
     }
 
     @Override
@@ -113,14 +213,17 @@ public interface Path {
         return false;
       }
 
+      // Two distinct interned paths are never equal:
       final SubPath subPath = (SubPath) o;
-      return Objects.equals(parent, subPath.parent) &&
-          Objects.equals(name, subPath.name);
+      return hash == subPath.hash && (!interned || !subPath.interned)
+          && depth == subPath.depth
+          && name.equals(subPath.name)
+          && parent.equals(subPath.parent);
     }
 
     @Override
     public int hashCode() {
-      return Objects.hash(parent, name);
+      return hash;
     }
   }
 }
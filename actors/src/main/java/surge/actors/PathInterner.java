@@ -0,0 +1,122 @@
+package surge.actors;
+
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Weak interner for paths. The parent of an interned path is always interned as well,
+ * so keys can compare parents by identity. Entries are removed once the interned path
+ * is no longer referenced.
+ */
+final class PathInterner {
+  private final static ConcurrentHashMap<Key, Entry> PATHS = new ConcurrentHashMap<>();
+  private final static ReferenceQueue<Path> QUEUE = new ReferenceQueue<>();
+
+  private PathInterner() {
+  }
+
+  static Path intern(final Path path) {
+    Objects.requireNonNull(path, "path cannot be null");
+
+    if (isInterned(path)) {
+      return path;
+    }
+
+    expungeStaleEntries();
+
+    final Path parent = path.getParent().map(PathInterner::intern).orElse(null);
+    final Key key = new Key(parent, path.getName(), path.hashCode());
+
+    final Entry existing = PATHS.get(key);
+    final Path existingPath = existing != null ? existing.get() : null;
+    if (existingPath != null) {
+      return existingPath;
+    }
+
+    // Make sure the canonical instance refers to the canonical parent:
+    final Path candidate = parent == null || path.getParent().get() == parent
+        ? path
+        : new Path.SubPath(parent, path.getName());
+
+    final Path[] result = new Path[1];
+    PATHS.compute(key, (k, entry) -> {
+      final Path current = entry != null ? entry.get() : null;
+      if (current != null) {
+        result[0] = current;
+        return entry;
+      }
+
+      markInterned(candidate);
+      result[0] = candidate;
+      return new Entry(candidate, k);
+    });
+
+    return result[0];
+  }
+
+  private static boolean isInterned(final Path path) {
+    if (path instanceof Path.SubPath) {
+      return ((Path.SubPath) path).interned;
+    } else if (path instanceof Path.RootPath) {
+      return ((Path.RootPath) path).interned;
+    }
+    return false;
+  }
+
+  private static void markInterned(final Path path) {
+    if (path instanceof Path.SubPath) {
+      ((Path.SubPath) path).interned = true;
+    } else if (path instanceof Path.RootPath) {
+      ((Path.RootPath) path).interned = true;
+    }
+  }
+
+  private static void expungeStaleEntries() {
+    Object reference;
+    while ((reference = QUEUE.poll()) != null) {
+      final Entry entry = (Entry) reference;
+      PATHS.remove(entry.key, entry);
+    }
+  }
+
+  private static final class Key {
+    private final Path parent;
+    private final String name;
+    private final int hash;
+
+    Key(final Path parent, final String name, final int hash) {
+      this.parent = parent;
+      this.name = name;
+      this.hash = hash;
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (!(o instanceof Key)) {
+        return false;
+      }
+
+      final Key key = (Key) o;
+      return hash == key.hash && parent == key.parent && name.equals(key.name);
+    }
+
+    @Override
+    public int hashCode() {
+      return hash;
+    }
+  }
+
+  private static final class Entry extends WeakReference<Path> {
+    private final Key key;
+
+    Entry(final Path path, final Key key) {
+      super(path, QUEUE);
+      this.key = key;
+    }
+  }
+}
@@ -1,5 +1,7 @@
 package surge.actors;
 
+import java.util.List;
+
 /**
  * Private extension to the actor context: this context is exposed to internal
  * classes (mailbox, scheduler, etc.) and not to receivers.
@@ -12,4 +14,30 @@ public interface PrivateContext extends Context {
    * @return true if the message was handled succesfully, false otherwise.
    */
   boolean dispatchMessage(Message message);
+
+  /**
+   * Returns the maximum number of messages the mailbox passes to
+   * {@link #dispatchMessages(List)} at once. The mailbox dispatches messages one at a
+   * time if this is one.
+   */
+  default int getMaxBatchSize() {
+    return 1;
+  }
+
+  /**
+   * Dispatches consecutive messages. The messages that have been dispatched, including
+   * a message that failed, are removed from the list. The mailbox delivers the
+   * messages that remain in the list again, before any other message.
+   *
+   * @param messages The messages, in the order in which they have been received.
+   * @return true if the messages were handled successfully, false otherwise.
+   */
+  default boolean dispatchMessages(final List<Message> messages) {
+    return dispatchMessage(messages.remove(0));
+  }
+
+  /**
+   * @return The listener that receives the lifecycle events of the actor.
+   */
+  LifecycleListener getLifecycleListener();
 }
@@ -1,9 +1,72 @@
 package surge.actors;
 
+import surge.actors.metrics.MetricsCollector;
 import java.time.Duration;
+import java.util.Optional;
 import java.util.concurrent.ScheduledFuture;
 
 public interface Scheduler {
   void schedule(Runnable runnable);
   ScheduledFuture<?> schedule(Runnable runnable, Duration delay);
+
+  /**
+   * Schedules a task on behalf of a single actor, for example the delivery of the
+   * messages in its mailbox. Schedulers that assign actors to threads use the path
+   * of the actor to select one, by default the path is ignored.
+   *
+   * @param path The path of the actor the task runs for.
+   * @param runnable The task.
+   */
+  default void schedule(final Path path, final Runnable runnable) {
+    schedule(runnable);
+  }
+
+  /**
+   * Returns the maximum number of messages a mailbox delivers each time it is
+   * scheduled. A mailbox that still has messages after reaching the limit yields
+   * and reschedules itself, allowing other mailboxes to make progress.
+   */
+  default int getThroughput() {
+    return Integer.MAX_VALUE;
+  }
+
+  /**
+   * Returns the maximum time a mailbox spends delivering messages each time it is
+   * scheduled, or zero if there is no limit. Like the throughput, this is checked
+   * between messages.
+   */
+  default Duration getThroughputDeadline() {
+    return Duration.ZERO;
+  }
+
+  /**
+   * Returns the maximum number of mailboxes a thread delivers directly, after the
+   * mailbox it has been scheduled for. When a receiver sends a message to an idle
+   * actor on the same scheduler, the thread that runs the receiver delivers that
+   * message itself once it is done, instead of scheduling the other mailbox. This
+   * saves a hand-off between threads, for example in request-response exchanges.
+   * Zero, the default, disables this.
+   */
+  default int getMaxHandoffs() {
+    return 0;
+  }
+
+  /**
+   * Returns the maximum number of messages a receiver sends before they are enqueued.
+   * Messages that are sent while handling a message are buffered, and enqueued when
+   * the receiver returns or when the outbox is full. All messages for the same actor
+   * are enqueued at once, which saves updating the mailbox of that actor for every
+   * message. Zero, the default, disables the outbox.
+   */
+  default int getOutboxCapacity() {
+    return 0;
+  }
+
+  /**
+   * Returns the collector that records the metrics of the actors that run on this
+   * scheduler. Actors are not instrumented if there is no collector.
+   */
+  default Optional<MetricsCollector> getMetrics() {
+    return Optional.empty();
+  }
 }
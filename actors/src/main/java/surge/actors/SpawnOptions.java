@@ -0,0 +1,61 @@
+package surge.actors;
+
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * Options that control how an actor is created when it is spawned. Options that
+ * are not set fall back to the defaults of the actor factory.
+ */
+public final class SpawnOptions {
+  private final static SpawnOptions DEFAULTS = new Builder().build();
+
+  private final MailboxFactory mailboxFactory;
+  private final Scheduler scheduler;
+
+  private SpawnOptions(final Builder builder) {
+    this.mailboxFactory = builder.mailboxFactory;
+    this.scheduler = builder.scheduler;
+  }
+
+  public static SpawnOptions defaults() {
+    return DEFAULTS;
+  }
+
+  public static Builder builder() {
+    return new Builder();
+  }
+
+  public Optional<MailboxFactory> getMailboxFactory() {
+    return Optional.ofNullable(mailboxFactory);
+  }
+
+  public Optional<Scheduler> getScheduler() {
+    return Optional.ofNullable(scheduler);
+  }
+
+  public static class Builder {
+    private MailboxFactory mailboxFactory = null;
+    private Scheduler scheduler = null;
+
+    public Builder mailbox(final MailboxFactory mailboxFactory) {
+      this.mailboxFactory = Objects.requireNonNull(mailboxFactory, "mailboxFactory cannot be null");
+      return this;
+    }
+
+    /**
+     * Runs the actor on the given scheduler instead of the scheduler of its parent.
+     * The children of the actor inherit the scheduler, which confines a subtree of
+     * actors to a scheduler of its own: actors that block or flood the scheduler
+     * don't affect actors elsewhere in the hierarchy.
+     */
+    public Builder scheduler(final Scheduler scheduler) {
+      this.scheduler = Objects.requireNonNull(scheduler, "scheduler cannot be null");
+      return this;
+    }
+
+    public SpawnOptions build() {
+      return new SpawnOptions(this);
+    }
+  }
+}
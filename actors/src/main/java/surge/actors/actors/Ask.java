@@ -28,18 +28,15 @@ public abstract class Ask {
           });
 
           // Stop this actor:
-          System.out.println("Killing ask after: " + t);
           return ctx.stop();
         })
         .matchAny((result, ctx) -> {
-          System.out.println("Ask received: " + result);
           // Complete the future in a separate job:
           ctx.getScheduler().schedule(() -> {
             future.complete(result);
           });
 
           // Stop this actor:
-          System.out.println("Killing ask after: " + result);
           return ctx.stop();
         })
         .build();
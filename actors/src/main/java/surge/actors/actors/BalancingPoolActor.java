@@ -0,0 +1,144 @@
+package surge.actors.actors;
+
+import surge.actors.Actor;
+import surge.actors.ActorFactory.FactoryWithContext;
+import surge.actors.Context;
+import surge.actors.Filter;
+import surge.actors.LifecycleListener;
+import surge.actors.Path;
+import surge.actors.Receiver;
+import surge.actors.Receiver.FailureAction;
+import surge.actors.SpawnOptions;
+import surge.actors.mailboxes.BalancingQueue;
+import surge.actors.mailboxes.Envelope;
+import surge.actors.messages.Kill;
+import surge.actors.messages.Stop;
+import surge.actors.messages.Unwatch;
+import surge.actors.messages.Watch;
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.CompletionStage;
+import java.util.function.Function;
+
+/**
+ * Actor that is backed by a pool of identical workers that share a single queue of
+ * messages. Each worker takes the next message when it has finished the previous one,
+ * which keeps all workers busy when handling messages takes an uneven amount of time.
+ * Messages are put in the shared queue on the thread of the sender.
+ *
+ * The workers are children of a supervising actor, which handles their failures. A
+ * failed worker takes no messages until it has been resumed or restarted. Like a
+ * {@link RouterActor}, the {@link Stop}, {@link Kill}, {@link Watch} and
+ * {@link Unwatch} messages sent to the pool are handled by the supervising actor.
+ *
+ * @see BalancingQueue
+ */
+public class BalancingPoolActor implements Actor {
+
+  private final BalancingQueue queue = new BalancingQueue();
+  private final LifecycleListener lifecycleListener;
+  private LocalActor supervisor;
+
+  private BalancingPoolActor(final LifecycleListener lifecycleListener) {
+    this.lifecycleListener = lifecycleListener;
+  }
+
+  static BalancingPoolActor spawn(final LocalActorFactory factory, final FactoryWithContext entry,
+      final String name, final int size,
+      final Function<Exception, FailureAction> supervisorStrategy) {
+    Objects.requireNonNull(entry, "entry cannot be null");
+    Objects.requireNonNull(name, "name cannot be null");
+    Objects.requireNonNull(supervisorStrategy, "supervisorStrategy cannot be null");
+
+    if (size <= 0) {
+      throw new IllegalArgumentException("size must be positive");
+    }
+
+    final BalancingPoolActor pool = new BalancingPoolActor(factory.getLifecycleListener());
+
+    pool.supervisor = factory.spawn(
+        context -> pool.createSupervisor(context, entry, size, supervisorStrategy), name);
+
+    return pool;
+  }
+
+  private Receiver createSupervisor(final Context context, final FactoryWithContext entry,
+      final int size, final Function<Exception, FailureAction> supervisorStrategy) {
+    final SpawnOptions options = SpawnOptions.builder()
+        .mailbox(queue.mailboxFactory())
+        .build();
+
+    for (int i = 0; i < size; ++ i) {
+      context.spawn(entry, "worker-" + i, options);
+    }
+
+    return Receiver.builder()
+        .onFailure(Exception.class, supervisorStrategy)
+        .build();
+  }
+
+  /**
+   * @return The number of messages waiting for a worker.
+   */
+  public int getNumberOfMessages() {
+    return queue.size();
+  }
+
+  @Override
+  public Path getPath() {
+    return supervisor.getPath();
+  }
+
+  @Override
+  public void tell(final Object message, final Actor sender) {
+    Objects.requireNonNull(message, "message cannot be null");
+    Objects.requireNonNull(sender, "sender cannot be null");
+
+    if (message instanceof Stop || message instanceof Kill
+        || message instanceof Watch || message instanceof Unwatch) {
+      supervisor.tell(message, sender);
+    } else {
+      final Envelope envelope = new Envelope(message, sender);
+
+      if (!queue.enqueue(envelope)) {
+        // All workers have terminated:
+        lifecycleListener.deadLetter(this, envelope);
+      }
+    }
+  }
+
+  @Override
+  public void publish(final Filter filter, final Object message, final Actor sender) {
+    supervisor.publish(filter, message, sender);
+  }
+
+  @Override
+  public CompletionStage<Object> ask(final Actor target, final Object message,
+      final Duration timeout) {
+    return supervisor.ask(target, message, timeout);
+  }
+
+  @Override
+  public CompletionStage<Void> awaitTermination(final Duration timeout) {
+    return supervisor.awaitTermination(timeout);
+  }
+
+  @Override
+  public <T> void consume(final CompletionStage<T> value) {
+    Objects.requireNonNull(value, "value cannot be null");
+
+    value.handle((result, error) -> {
+      if (error != null) {
+        tell(error, this);
+      } else {
+        tell(result, this);
+      }
+      return null;
+    });
+  }
+
+  @Override
+  public String toString() {
+    return "BalancingPoolActor[" + getPath().getFullName() + "]";
+  }
+}
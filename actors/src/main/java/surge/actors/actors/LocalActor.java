@@ -7,18 +7,24 @@ import surge.actors.Mailbox;
 import surge.actors.Message;
 import surge.actors.Path;
 import surge.actors.Scheduler;
+import surge.actors.mailboxes.Envelope;
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
 import java.util.Objects;
-import java.util.Optional;
 import java.util.concurrent.CompletionStage;
 
 public class LocalActor implements Actor {
   private final Path path;
   private final Mailbox mailbox;
+  private final Scheduler scheduler;
+  private volatile RoutingIndex.Node routingNode = null;
 
-  public LocalActor(final Path path, final Mailbox mailbox) {
+  public LocalActor(final Path path, final Mailbox mailbox, final Scheduler scheduler) {
     this.path = Objects.requireNonNull(path, "path cannot be null");
     this.mailbox = Objects.requireNonNull(mailbox, "mailbox cannot be null");
+    this.scheduler = Objects.requireNonNull(scheduler, "scheduler cannot be null");
   }
 
   public static ActorFactory factory(final Scheduler scheduler) {
@@ -32,30 +38,28 @@ public class LocalActor implements Actor {
 
   @Override
   public void tell(final Object message, final Actor sender) {
+    tryTell(message, sender);
+  }
+
+  @Override
+  public boolean tryTell(final Object message, final Actor sender) {
     Objects.requireNonNull(message, "message cannot be null");
     Objects.requireNonNull(sender, "sender cannot be null");
 
-    mailbox.enqueue(new Message() {
-      @Override
-      public Object getPayload() {
-        return message;
-      }
+    return mailbox.enqueue(new Envelope(message, sender));
+  }
 
-      @Override
-      public Actor getSender() {
-        return sender;
-      }
+  @Override
+  public void tellAll(final Collection<?> messages, final Actor sender) {
+    Objects.requireNonNull(messages, "messages cannot be null");
+    Objects.requireNonNull(sender, "sender cannot be null");
 
-      @Override
-      public Optional<Filter> getPublishFilter() {
-        return Optional.empty();
-      }
+    final List<Message> envelopes = new ArrayList<>(messages.size());
+    for (final Object message : messages) {
+      envelopes.add(new Envelope(Objects.requireNonNull(message, "message cannot be null"), sender));
+    }
 
-      @Override
-      public PublishMode getPublishMode() {
-        return PublishMode.LOCAL_AND_PUBLISH;
-      }
-    });
+    mailbox.enqueueAll(envelopes);
   }
 
   @Override
@@ -64,27 +68,39 @@ public class LocalActor implements Actor {
     Objects.requireNonNull(message, "message cannot be null");
     Objects.requireNonNull(sender, "sender cannot be null");
 
-    mailbox.enqueue(new Message() {
-      @Override
-      public Object getPayload() {
-        return message;
-      }
+    // Deliver directly to the matching actors if this actor is part of a routing index,
+    // otherwise let this actor forward the message to its children:
+    final RoutingIndex.Node node = routingNode;
+    if (node != null) {
+      node.publish(filter, message, sender);
+    } else {
+      mailbox.enqueue(new Envelope(message, sender, filter));
+    }
+  }
 
-      @Override
-      public Actor getSender() {
-        return sender;
-      }
+  /**
+   * @return The (approximate) number of messages waiting in the mailbox of this actor.
+   */
+  public int getNumberOfMessages() {
+    return mailbox.getNumberOfMessages();
+  }
 
-      @Override
-      public PublishMode getPublishMode() {
-        return PublishMode.PUBLISH_ONLY;
-      }
+  RoutingIndex.Node getRoutingNode() {
+    return routingNode;
+  }
 
-      @Override
-      public Optional<Filter> getPublishFilter() {
-        return Optional.of(filter);
-      }
-    });
+  void setRoutingNode(final RoutingIndex.Node routingNode) {
+    this.routingNode = routingNode;
+  }
+
+  /**
+   * Sends the message to the target with a {@link PromiseActor} as the sender, instead
+   * of spawning a child actor to receive the reply.
+   */
+  @Override
+  public CompletionStage<Object> ask(final Actor target, final Object message,
+      final Duration timeout) {
+    return PromiseActor.ask(this, scheduler, target, message, timeout);
   }
 
   @Override
@@ -111,27 +127,7 @@ public class LocalActor implements Actor {
     Objects.requireNonNull(message, "message cannot be null");
     Objects.requireNonNull(sender, "sender cannot be null");
 
-    mailbox.enqueueSystemMessage(new Message() {
-      @Override
-      public Object getPayload() {
-        return message;
-      }
-
-      @Override
-      public Actor getSender() {
-        return sender;
-      }
-
-      @Override
-      public Optional<Filter> getPublishFilter() {
-        return Optional.empty();
-      }
-
-      @Override
-      public PublishMode getPublishMode() {
-        return PublishMode.LOCAL_AND_PUBLISH;
-      }
-    });
+    mailbox.enqueueSystemMessage(new Envelope(message, sender));
   }
 
   @Override
@@ -3,6 +3,12 @@ package surge.actors.actors;
 import java.util.HashSet;
 import java.util.Set;
 import surge.actors.Actor;
+import surge.actors.BatchException;
+import surge.actors.BatchReceiver;
+import surge.actors.Context;
+import surge.actors.Filter;
+import surge.actors.LifecycleListener;
+import surge.actors.MailboxFactory;
 import surge.actors.Message;
 import surge.actors.Message.PublishMode;
 import surge.actors.MessageContext;
@@ -10,6 +16,10 @@ import surge.actors.PrivateContext;
 import surge.actors.Receiver;
 import surge.actors.Receiver.FailureAction;
 import surge.actors.Scheduler;
+import surge.actors.SpawnOptions;
+import surge.actors.lifecycle.Slf4jLifecycleListener;
+import surge.actors.mailboxes.DefaultMailbox;
+import surge.actors.metrics.ActorMetrics;
 import surge.actors.messages.ActorTerminated;
 import surge.actors.messages.ChildFailure;
 import surge.actors.messages.ChildRestarted;
@@ -25,7 +35,9 @@ import surge.actors.messages.SpawnChild;
 import surge.actors.messages.Stop;
 import surge.actors.messages.ChildTerminated;
 import java.time.Duration;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
@@ -50,11 +62,41 @@ public class LocalActorContext extends LocalActorFactory implements PrivateConte
   private LocalActor self;
   private Receiver currentReceiver;
   private Duration receiveTimeoutDuration = null;
+  private long receiveTimeoutNanos = 0;
   private ScheduledFuture<?> receiveTimeout = null;
+
+  // Null unless the actor is instrumented:
+  private ActorMetrics metrics = null;
+
+  // Message context that is reused for every message, only the sender changes:
+  private final LocalMessageContext messageContext = new LocalMessageContext(null);
+
+  // Context that is passed to batch receivers, which have no single sender:
+  private final Context receiverContext = new LocalReceiverContext();
+
+  // Receive timeout state that is shared with the timer. Resetting the timeout only
+  // moves the deadline, the timer checks the deadline when it fires. The generation
+  // invalidates timers of receive timeouts that have been replaced or cancelled:
+  private volatile long receiveTimeoutDeadline = 0;
+  private volatile long receiveTimeoutGeneration = 0;
   private boolean terminated = false;
 
   public LocalActorContext(final LocalActor parentActor, final Scheduler scheduler) {
-    super(scheduler);
+    this(parentActor, scheduler, new Slf4jLifecycleListener());
+  }
+
+  public LocalActorContext(final LocalActor parentActor, final Scheduler scheduler,
+      final LifecycleListener lifecycleListener) {
+    this(parentActor, scheduler, DefaultMailbox::new, lifecycleListener);
+  }
+
+  /**
+   * @param mailboxFactory The factory of the mailboxes of the children of the actor,
+   *    unless they are spawned with a mailbox of their own.
+   */
+  public LocalActorContext(final LocalActor parentActor, final Scheduler scheduler,
+      final MailboxFactory mailboxFactory, final LifecycleListener lifecycleListener) {
+    super(scheduler, mailboxFactory, lifecycleListener, null);
     this.parentActor = parentActor;
 
     currentReceiver = Receiver.builder().build();
@@ -66,8 +108,13 @@ public class LocalActorContext extends LocalActorFactory implements PrivateConte
       if (message.getPublishMode() != PublishMode.PUBLISH_ONLY) {
         // Handle omnipotent system messages:
         final Optional<Receiver> omnipotentReceiver = handleOmnipotentSystemMessages(message);
-        if (omnipotentReceiver.isPresent() || terminated) {
-          currentReceiver = omnipotentReceiver.orElse(getReceiver());
+        if (omnipotentReceiver.isPresent()) {
+          currentReceiver = omnipotentReceiver.get();
+          return true;
+        } else if (terminated) {
+          // Messages that arrive after the actor has stopped, but before its mailbox
+          // has been terminated:
+          getLifecycleListener().deadLetter(self, message);
           return true;
         }
 
@@ -79,39 +126,27 @@ public class LocalActorContext extends LocalActorFactory implements PrivateConte
         }
 
         // Handle "normal" messages and system messages whose handling can be overridden:
-        currentReceiver = getReceiver()
-            .receive(message.getPayload(), new LocalMessageContext(message.getSender()))
-            .orElseGet(() -> handleOverridableSystemMessages(message));
+        messageContext.sender = Objects.requireNonNull(message.getSender(),
+            "sender cannot be null");
+        try {
+          currentReceiver = getReceiver()
+              .receive(message.getPayload(), messageContext)
+              .orElseGet(() -> handleOverridableSystemMessages(message));
+        } finally {
+          messageContext.sender = null;
+        }
 
         // Reset the receive timeout, if one is available:
         if (receiveTimeoutDuration != null) {
-          setReceiveTimeout(receiveTimeoutDuration);
+          receiveTimeoutDeadline = System.nanoTime() + receiveTimeoutNanos;
         }
       }
 
       // Dispatch the message to children if publishing is enabled:
-      message.getPublishFilter().ifPresent(filter -> {
-        final Object payload = message.getPayload();
-        final Actor sender = message.getSender();
-
-        if ("#".equals(filter.getLevel())) {
-          children.values().stream()
-              .forEach(child -> child.publish(filter, message.getPayload(), message.getSender()));
-        } else if ("+".equals(filter.getLevel())) {
-          filter.getRemainder().ifPresentOrElse(
-              remainder -> children.values().forEach(
-                  child -> child.publish(remainder, message.getPayload(), message.getSender())),
-              () -> children.values()
-                  .forEach(child -> child.tell(message.getPayload(), message.getSender()))
-          );
-        } else {
-          Optional.ofNullable(children.get(filter.getLevel()))
-              .ifPresent(child -> filter.getRemainder().ifPresentOrElse(
-                  remainder -> child.publish(remainder, message.getPayload(), message.getSender()),
-                  () -> child.tell(message.getPayload(), message.getSender())
-              ));
-        }
-      });
+      final Filter filter = message.getPublishFilterOrNull();
+      if (filter != null) {
+        publishToChildren(filter, message.getPayload(), message.getSender());
+      }
 
       return true;
     } catch (Exception e) {
@@ -120,6 +155,102 @@ public class LocalActorContext extends LocalActorFactory implements PrivateConte
     }
   }
 
+  @Override
+  public int getMaxBatchSize() {
+    final Receiver receiver = currentReceiver;
+    return receiver instanceof BatchReceiver && !terminated
+        ? Math.max(1, ((BatchReceiver) receiver).getMaxBatchSize())
+        : 1;
+  }
+
+  @Override
+  public boolean dispatchMessages(final List<Message> messages) {
+    // Find the messages at the start of the list that can be handled as a batch:
+    final int size = messages.size();
+    int count = 0;
+    while (count < size && isBatchable(messages.get(count))) {
+      ++ count;
+    }
+
+    // Dispatch system and published messages on their own:
+    final Receiver receiver = currentReceiver;
+    if (count == 0 || !(receiver instanceof BatchReceiver) || terminated) {
+      return dispatchMessage(messages.remove(0));
+    }
+
+    final List<Message> batch = messages.subList(0, count);
+    try {
+      currentReceiver = ((BatchReceiver) receiver)
+          .receiveAll(Collections.unmodifiableList(batch), receiverContext)
+          .orElse(receiver);
+      batch.clear();
+
+      // Reset the receive timeout, if one is available:
+      if (receiveTimeoutDuration != null) {
+        receiveTimeoutDeadline = System.nanoTime() + receiveTimeoutNanos;
+      }
+
+      return true;
+    } catch (BatchException e) {
+      // The messages up to and including the failed message have been dispatched, the
+      // remaining messages are delivered after the supervisor has handled the failure:
+      messages.subList(0, Math.min(e.getHandled() + 1, count)).clear();
+      handleFailure(e.getCause());
+      return false;
+    } catch (Exception e) {
+      batch.clear();
+      handleFailure(e);
+      return false;
+    }
+  }
+
+  private static boolean isBatchable(final Message message) {
+    if (message.getPublishMode() != PublishMode.LOCAL_AND_PUBLISH
+        || message.getPublishFilterOrNull() != null) {
+      return false;
+    }
+
+    // Messages that are handled by the context, see dispatchMessage:
+    final Object payload = message.getPayload();
+    return !(payload instanceof Watch || payload instanceof Unwatch
+        || payload instanceof ChildTerminated || payload instanceof ChildFailure
+        || payload instanceof Kill || payload instanceof Restart
+        || payload instanceof ReceiveTimeout || payload instanceof ActorTerminated
+        || payload instanceof Ping || payload instanceof Stop
+        || payload instanceof SpawnChild);
+  }
+
+  private void publishToChildren(final Filter filter, final Object payload, final Actor sender) {
+    final String level = filter.getLevel();
+
+    if ("#".equals(level)) {
+      // All descendants receive the message, like they do through the routing index:
+      for (final LocalActor child : children.values()) {
+        child.tell(payload, sender);
+        child.publish(filter, payload, sender);
+      }
+    } else if ("+".equals(level)) {
+      final Filter remainder = filter.getRemainder().orElse(null);
+      for (final LocalActor child : children.values()) {
+        if (remainder != null) {
+          child.publish(remainder, payload, sender);
+        } else {
+          child.tell(payload, sender);
+        }
+      }
+    } else {
+      final LocalActor child = children.get(level);
+      if (child != null) {
+        final Filter remainder = filter.getRemainder().orElse(null);
+        if (remainder != null) {
+          child.publish(remainder, payload, sender);
+        } else {
+          child.tell(payload, sender);
+        }
+      }
+    }
+  }
+
   private Optional<Receiver> handleOmnipotentSystemMessages(final Message message) throws Exception {
     final Object payload = message.getPayload();
 
@@ -146,7 +277,7 @@ public class LocalActorContext extends LocalActorFactory implements PrivateConte
 
     if (payload instanceof ChildTerminated) {
       // Remove the child from the child mapping:
-      children.remove(message.getSender().getPath());
+      children.remove(message.getSender().getPath().getName());
 
       // Don't return a new receiver, let the non-system receiver handle the
       // message as well:
@@ -172,8 +303,13 @@ public class LocalActorContext extends LocalActorFactory implements PrivateConte
       if (receiveTimeoutDuration != null) {
         // If a receive timeout is still active, reset it and let the current receiver
         // handle the timeout:
-        this.receiveTimeoutDuration = null;
-        this.receiveTimeout = null;
+        cancelReceiveTimeout();
+
+        getLifecycleListener().receiveTimeout(self);
+
+        if (metrics != null) {
+          metrics.recordReceiveTimeout();
+        }
         return Optional.empty();
       } else {
         // If a receive timeout is not currently active, don't report the message.
@@ -207,8 +343,6 @@ public class LocalActorContext extends LocalActorFactory implements PrivateConte
   }
 
   private void handleChildFailure(final LocalActor child, final Exception cause) throws Exception {
-    System.out.println("Child failed: " + child.getPath());
-
     final FailureAction action = getReceiver().handleFailure(cause)
         .orElse(FailureAction.RESTART);
 
@@ -230,13 +364,8 @@ public class LocalActorContext extends LocalActorFactory implements PrivateConte
   }
 
   private Receiver stopChildren(final Consumer<LocalActor> stopHandler, final Supplier<Receiver> continuation) {
-    System.out.println("Stopping: " + getSelf().getPath());
-
     // Terminate any timers:
-    if (receiveTimeout != null) {
-      receiveTimeout.cancel(false);
-      receiveTimeoutDuration = null;
-    }
+    cancelReceiveTimeout();
 
     // Notify the mailbox that it should be suspended:
     self.tellSystem(new MailboxSuspend(), getSelf());
@@ -265,7 +394,11 @@ public class LocalActorContext extends LocalActorFactory implements PrivateConte
   }
 
   private Receiver stopped() {
-    System.out.println("Stopped: " + getSelf().getPath());
+    // Stop receiving published messages:
+    final RoutingIndex.Node routingNode = self.getRoutingNode();
+    if (routingNode != null) {
+      routingNode.remove(self);
+    }
 
     // Terminate the mailbox:
     self.tellSystem(new MailboxTerminate(), getSelf());
@@ -286,10 +419,16 @@ public class LocalActorContext extends LocalActorFactory implements PrivateConte
 
     terminated = true;
 
+    getLifecycleListener().stopped(self);
+
     return Receiver.builder().build();
   }
 
   private Receiver restart() {
+    if (metrics != null) {
+      metrics.recordRestart();
+    }
+
     currentReceiver = initialFactory.apply(this);
 
     getReceiver().afterRestart(this);
@@ -302,6 +441,8 @@ public class LocalActorContext extends LocalActorFactory implements PrivateConte
       parentActor.tellSystem(new ChildRestarted(), getSelf());
     }
 
+    getLifecycleListener().restarted(self);
+
     return getReceiver();
   }
 
@@ -309,14 +450,16 @@ public class LocalActorContext extends LocalActorFactory implements PrivateConte
     // Notify the mailbox that message delivery should be suspended:
     self.tellSystem(new MailboxSuspend(), getSelf());
 
+    getLifecycleListener().failed(self, cause);
+
+    if (metrics != null) {
+      metrics.recordFailure(cause);
+    }
+
     // Notify the supervisor of the failure:
-    System.out.println("Notify parent of failure (1)");
     if (parentActor != null) {
-      System.out.println("Notify parent of failure (2)");
       parentActor.tellSystem(new ChildFailure(cause), getSelf());
     }
-
-    cause.printStackTrace();
   }
 
   /**
@@ -333,6 +476,13 @@ public class LocalActorContext extends LocalActorFactory implements PrivateConte
     this.currentReceiver = factory.apply(this);
   }
 
+  /**
+   * Makes the context record restarts, failures and receive timeouts of the actor.
+   */
+  void instrument(final ActorMetrics metrics) {
+    this.metrics = Objects.requireNonNull(metrics, "metrics cannot be null");
+  }
+
   @Override
   public Actor getSelf() {
     return self;
@@ -355,9 +505,15 @@ public class LocalActorContext extends LocalActorFactory implements PrivateConte
 
   @Override
   public LocalActor spawn(final FactoryWithContext entry, final String name) {
+    return spawn(entry, name, SpawnOptions.defaults());
+  }
+
+  @Override
+  public LocalActor spawn(final FactoryWithContext entry, final String name,
+      final SpawnOptions options) {
     Objects.requireNonNull(name, "name cannot be null");
 
-    final LocalActor actor = super.spawn(self, entry, name);
+    final LocalActor actor = super.spawn(self, entry, name, options);
 
     children.put(name, actor);
 
@@ -376,30 +532,36 @@ public class LocalActorContext extends LocalActorFactory implements PrivateConte
 
   @Override
   public void setReceiveTimeout(final Duration timeout) {
-    if (receiveTimeout != null) {
-      receiveTimeout.cancel(false);
-    }
+    Objects.requireNonNull(timeout, "timeout cannot be null");
+
+    cancelReceiveTimeout();
 
     // Reset the timeout if "zero" is provided:
     if (timeout.isZero()) {
-      this.receiveTimeoutDuration = null;
       return;
     }
 
     this.receiveTimeoutDuration = timeout;
-
-    final Actor self = getSelf();
-
-    System.out.println("Scheduling timeout for " + getSelf().getPath() + ": " + timeout);
+    this.receiveTimeoutNanos = timeout.toNanos();
+    this.receiveTimeoutDeadline = System.nanoTime() + receiveTimeoutNanos;
 
     receiveTimeout = getScheduler().schedule(
-        () -> {
-          self.tell(new ReceiveTimeout(), self);
-        },
-        Objects.requireNonNull(timeout, "timeout cannot be null")
+        new ReceiveTimeoutTimer(receiveTimeoutGeneration),
+        timeout
     );
   }
 
+  private void cancelReceiveTimeout() {
+    ++ receiveTimeoutGeneration;
+
+    if (receiveTimeout != null) {
+      receiveTimeout.cancel(false);
+      receiveTimeout = null;
+    }
+
+    receiveTimeoutDuration = null;
+  }
+
   @Override
   public void watch(final Actor actorToWatch) {
     if (watchedActors.contains(actorToWatch)) {
@@ -417,17 +579,38 @@ public class LocalActorContext extends LocalActorFactory implements PrivateConte
     }
   }
 
-  private class LocalMessageContext implements MessageContext {
-    private final Actor sender;
+  /**
+   * Fires when a receive timeout may have expired. If messages have been received in
+   * the meantime the deadline has moved and the timer is rescheduled for the remaining
+   * time, instead of rescheduling the timer for each message.
+   */
+  private class ReceiveTimeoutTimer implements Runnable {
+    private final long generation;
 
-    public LocalMessageContext(final Actor sender) {
-      this.sender = Objects.requireNonNull(sender, "sender cannot be null");
+    public ReceiveTimeoutTimer(final long generation) {
+      this.generation = generation;
     }
 
     @Override
-    public Actor getSender() {
-      return sender;
+    public void run() {
+      if (generation != receiveTimeoutGeneration) {
+        return;
+      }
+
+      final long remaining = receiveTimeoutDeadline - System.nanoTime();
+      if (remaining > 0) {
+        getScheduler().schedule(this, Duration.ofNanos(remaining));
+      } else {
+        self.tell(new ReceiveTimeout(), self);
+      }
     }
+  }
+
+  /**
+   * Context of an actor as it is seen by its receivers. Only exposes {@link Context},
+   * the methods that are used by the mailbox are not reachable through it.
+   */
+  private class LocalReceiverContext implements Context {
 
     @Override
     public Actor getSelf() {
@@ -459,6 +642,12 @@ public class LocalActorContext extends LocalActorFactory implements PrivateConte
       return LocalActorContext.this.spawn(entry, name);
     }
 
+    @Override
+    public Actor spawn(final FactoryWithContext entry, final String name,
+        final SpawnOptions options) {
+      return LocalActorContext.this.spawn(entry, name, options);
+    }
+
     @Override
     public Receiver stop() {
       return LocalActorContext.this.stop();
@@ -484,4 +673,32 @@ public class LocalActorContext extends LocalActorFactory implements PrivateConte
       LocalActorContext.this.unwatch(actorToUnwatch);
     }
   }
+
+  /**
+   * Message context of an actor. The context that is passed to the receiver is reused
+   * for every message and is only valid while a message is being handled, capturing
+   * it creates a copy that stays valid.
+   */
+  private class LocalMessageContext extends LocalReceiverContext implements MessageContext {
+    private Actor sender;
+
+    public LocalMessageContext(final Actor sender) {
+      this.sender = sender;
+    }
+
+    @Override
+    public Actor getSender() {
+      final Actor currentSender = sender;
+      if (currentSender == null) {
+        throw new IllegalStateException("The message context is no longer valid, "
+            + "use capture() or copy the sender to keep it beyond the current message");
+      }
+      return currentSender;
+    }
+
+    @Override
+    public MessageContext capture() {
+      return this == messageContext ? new LocalMessageContext(getSender()) : this;
+    }
+  }
 }
@@ -1,84 +1,184 @@
 package surge.actors.actors;
 
-import surge.actors.Actor;
 import surge.actors.ActorFactory;
-import surge.actors.Filter;
+import surge.actors.LifecycleListener;
 import surge.actors.Mailbox;
-import surge.actors.Message;
+import surge.actors.MailboxFactory;
 import surge.actors.Path;
+import surge.actors.Receiver.FailureAction;
 import surge.actors.Scheduler;
+import surge.actors.SpawnOptions;
+import surge.actors.lifecycle.Slf4jLifecycleListener;
 import surge.actors.mailboxes.DefaultMailbox;
+import surge.actors.mailboxes.Envelope;
 import surge.actors.messages.MailboxUnsuspend;
+import surge.actors.metrics.ActorMetrics;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Function;
 
 public class LocalActorFactory implements ActorFactory {
   private final Scheduler scheduler;
+  private final MailboxFactory mailboxFactory;
+  private final LifecycleListener lifecycleListener;
+
+  // Only top-level factories have a root, actor contexts register their children below
+  // the node of their own actor:
+  private final RoutingIndex.Node routingRoot;
 
   public LocalActorFactory(final Scheduler scheduler) {
+    this(scheduler, DefaultMailbox::new);
+  }
+
+  public LocalActorFactory(final Scheduler scheduler, final MailboxFactory mailboxFactory) {
+    this(scheduler, mailboxFactory, new Slf4jLifecycleListener());
+  }
+
+  public LocalActorFactory(final Scheduler scheduler, final MailboxFactory mailboxFactory,
+      final LifecycleListener lifecycleListener) {
+    this(scheduler, mailboxFactory, lifecycleListener, RoutingIndex.root());
+  }
+
+  LocalActorFactory(final Scheduler scheduler, final MailboxFactory mailboxFactory,
+      final LifecycleListener lifecycleListener, final RoutingIndex.Node routingRoot) {
     this.scheduler = Objects.requireNonNull(scheduler, "scheduler cannot be null");
+    this.mailboxFactory = Objects.requireNonNull(mailboxFactory, "mailboxFactory cannot be null");
+    this.lifecycleListener = Objects.requireNonNull(lifecycleListener,
+        "lifecycleListener cannot be null");
+    this.routingRoot = routingRoot;
   }
 
   public Scheduler getScheduler() {
     return scheduler;
   }
 
+  /**
+   * @return The factory of the mailboxes of the actors spawned by this factory and their
+   *    descendants, unless they are spawned with a mailbox of their own.
+   */
+  public MailboxFactory getMailboxFactory() {
+    return mailboxFactory;
+  }
+
+  /**
+   * @return The listener that receives the lifecycle events of the actors spawned by
+   *    this factory and their descendants.
+   */
+  public LifecycleListener getLifecycleListener() {
+    return lifecycleListener;
+  }
+
   @Override
   public LocalActor spawn(final FactoryWithContext entry, final String name) {
-    return spawn(null, entry, name);
+    return spawn(entry, name, SpawnOptions.defaults());
   }
 
-  protected LocalActor spawn(final LocalActor parent, final FactoryWithContext entry, final String name) {
+  public LocalActor spawn(final FactoryWithContext entry, final String name,
+      final SpawnOptions options) {
+    return spawn(null, entry, name, options);
+  }
+
+  /**
+   * Spawns a router with a number of routees that are created with the same factory.
+   * Failing routees are restarted.
+   *
+   * @see RouterActor
+   */
+  public RouterActor spawnRouter(final FactoryWithContext entry, final String name,
+      final int size, final RoutingStrategy strategy) {
+    return spawnRouter(entry, name, size, strategy, cause -> FailureAction.RESTART);
+  }
+
+  /**
+   * Spawns a router with a number of routees that are created with the same factory.
+   *
+   * @param supervisorStrategy Decides how to handle the failure of a routee.
+   * @see RouterActor
+   */
+  public RouterActor spawnRouter(final FactoryWithContext entry, final String name,
+      final int size, final RoutingStrategy strategy,
+      final Function<Exception, FailureAction> supervisorStrategy) {
+    return RouterActor.spawn(this, entry, name, size, strategy, supervisorStrategy);
+  }
+
+  /**
+   * Spawns a pool of workers that are created with the same factory and share a
+   * single queue of messages. Failing workers are restarted.
+   *
+   * @see BalancingPoolActor
+   */
+  public BalancingPoolActor spawnBalancingPool(final FactoryWithContext entry,
+      final String name, final int size) {
+    return spawnBalancingPool(entry, name, size, cause -> FailureAction.RESTART);
+  }
+
+  /**
+   * Spawns a pool of workers that are created with the same factory and share a
+   * single queue of messages.
+   *
+   * @param supervisorStrategy Decides how to handle the failure of a worker.
+   * @see BalancingPoolActor
+   */
+  public BalancingPoolActor spawnBalancingPool(final FactoryWithContext entry,
+      final String name, final int size,
+      final Function<Exception, FailureAction> supervisorStrategy) {
+    return BalancingPoolActor.spawn(this, entry, name, size, supervisorStrategy);
+  }
+
+  protected LocalActor spawn(final LocalActor parent, final FactoryWithContext entry,
+      final String name, final SpawnOptions options) {
     Objects.requireNonNull(entry, "entry cannot be null");
     Objects.requireNonNull(name, "name cannot be null");
+    Objects.requireNonNull(options, "options cannot be null");
+
+    // The actor runs on the scheduler of its parent, unless it has been assigned a
+    // scheduler of its own. Its children inherit the scheduler through the context:
+    final Scheduler actorScheduler = options.getScheduler().orElse(scheduler);
 
     // Create a blank context for the actor, with initial state and without a
     // parent actor.
-    final LocalActorContext context = createContext(parent, scheduler);
+    final LocalActorContext context = createContext(parent, actorScheduler);
 
     // Create a mailbox that dispatches to the previously created actor context:
-    final Mailbox mailbox = new DefaultMailbox(context);
+    final Mailbox mailbox = options.getMailboxFactory().orElse(mailboxFactory).create(context);
 
     // Create an actor handler that dispatches messages to the previously created
-    // mailbox:
+    // mailbox. Its path is interned, so that the path is shared with the paths of its
+    // children and lookups by path mostly compare references:
     final LocalActor actor = new LocalActor(
         Optional.ofNullable(parent).map(p -> Path.of(p.getPath(), name))
-            .orElseGet(() -> Path.of(name)),
-        mailbox
+            .orElseGet(() -> Path.of(name))
+            .intern(),
+        mailbox,
+        actorScheduler
     );
 
+    // Instrument the actor if the scheduler collects metrics:
+    actorScheduler.getMetrics().ifPresent(metrics -> {
+      final ActorMetrics actorMetrics = metrics.register(actor.getPath(), mailbox);
+      mailbox.instrument(actorMetrics);
+      context.instrument(actorMetrics);
+    });
+
+    // Register the actor in the routing index, below the node of its parent:
+    final RoutingIndex.Node parentNode = parent != null ? parent.getRoutingNode() : routingRoot;
+    if (parentNode != null) {
+      actor.setRoutingNode(parentNode.add(name, actor));
+    }
+
     // Initialize the context with the newly created actor:
     context.initialize(actor, entry);
 
+    lifecycleListener.spawned(actor);
+
     // Unsuspend the mailbox after initialization. The mailbox starts suspended to
     // prevent messages from being delivered while it is initializing:
-    final MailboxUnsuspend msg = new MailboxUnsuspend();
-    mailbox.enqueueSystemMessage(new Message() {
-      @Override
-      public Object getPayload() {
-        return msg;
-      }
-
-      @Override
-      public Actor getSender() {
-        return actor;
-      }
-
-      @Override
-      public PublishMode getPublishMode() {
-        return PublishMode.LOCAL_AND_PUBLISH;
-      }
-
-      @Override
-      public Optional<Filter> getPublishFilter() {
-        return Optional.empty();
-      }
-    });
+    mailbox.enqueueSystemMessage(new Envelope(new MailboxUnsuspend(), actor));
 
     return actor;
   }
 
   protected LocalActorContext createContext(final LocalActor parent, final Scheduler scheduler) {
-    return new LocalActorContext(parent, scheduler);
+    return new LocalActorContext(parent, scheduler, mailboxFactory, lifecycleListener);
   }
 }
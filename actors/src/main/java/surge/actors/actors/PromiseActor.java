@@ -0,0 +1,124 @@
+package surge.actors.actors;
+
+import surge.actors.Actor;
+import surge.actors.Filter;
+import surge.actors.Path;
+import surge.actors.Scheduler;
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Temporary actor that receives the reply to an ask. Unlike a regular actor it has no
+ * mailbox and no context, and it is not registered as a child: the first message it
+ * is sent completes the future of the ask directly, on the thread of the sender of the
+ * reply. The ask timeout is a single delayed task on the scheduler that is cancelled
+ * when the reply arrives.
+ *
+ * Callbacks registered on the future run on the thread that completes it, which is
+ * the dispatcher thread of the replying actor. Use the asynchronous variants of the
+ * completion stage methods for callbacks that do significant work.
+ */
+public class PromiseActor implements Actor {
+  private final static AtomicLong COUNTER = new AtomicLong();
+
+  private final Actor parent;
+  private final long id;
+  private final CompletableFuture<Object> future = new CompletableFuture<>();
+  private volatile ScheduledFuture<?> timer;
+  private Path path;
+
+  private PromiseActor(final Actor parent) {
+    this.parent = Objects.requireNonNull(parent, "parent cannot be null");
+    this.id = COUNTER.incrementAndGet();
+  }
+
+  public static CompletionStage<Object> ask(final Actor parent, final Scheduler scheduler,
+      final Actor target, final Object message, final Duration timeout) {
+    Objects.requireNonNull(scheduler, "scheduler cannot be null");
+    Objects.requireNonNull(target, "target cannot be null");
+    Objects.requireNonNull(message, "message cannot be null");
+    Objects.requireNonNull(timeout, "timeout cannot be null");
+
+    final PromiseActor promise = new PromiseActor(parent);
+
+    // Arm the timeout before sending the message, so that the reply can always cancel it:
+    promise.timer = scheduler.schedule(promise::expire, timeout);
+
+    target.tell(message, promise);
+
+    return promise.future;
+  }
+
+  private void expire() {
+    future.completeExceptionally(new TimeoutException());
+  }
+
+  @Override
+  public Path getPath() {
+    // The path is only created when it is needed, most replies never look at it:
+    if (path == null) {
+      path = Path.of(parent.getPath(), "$ask-" + id);
+    }
+    return path;
+  }
+
+  @Override
+  public void tell(final Object message, final Actor sender) {
+    tryTell(message, sender);
+  }
+
+  @Override
+  public boolean tryTell(final Object message, final Actor sender) {
+    Objects.requireNonNull(message, "message cannot be null");
+    Objects.requireNonNull(sender, "sender cannot be null");
+
+    if (!future.complete(message)) {
+      // Only the first reply is accepted:
+      return false;
+    }
+
+    final ScheduledFuture<?> currentTimer = timer;
+    if (currentTimer != null) {
+      currentTimer.cancel(false);
+    }
+
+    return true;
+  }
+
+  @Override
+  public void publish(final Filter filter, final Object message, final Actor sender) {
+    // A promise has no children, a published message can only be meant for the
+    // promise itself:
+    tell(message, sender);
+  }
+
+  @Override
+  public CompletionStage<Void> awaitTermination(final Duration timeout) {
+    // A promise terminates as soon as it has been completed:
+    return future.handle((result, error) -> null);
+  }
+
+  @Override
+  public <T> void consume(final CompletionStage<T> value) {
+    Objects.requireNonNull(value, "value cannot be null");
+
+    value.handle((result, error) -> {
+      if (error != null) {
+        tell(error, this);
+      } else {
+        tell(result, this);
+      }
+      return null;
+    });
+  }
+
+  @Override
+  public String toString() {
+    return "PromiseActor[" + getPath().getFullName() + "]";
+  }
+}
@@ -0,0 +1,216 @@
+package surge.actors.actors;
+
+import surge.actors.Actor;
+import surge.actors.ActorFactory.FactoryWithContext;
+import surge.actors.Context;
+import surge.actors.Filter;
+import surge.actors.LifecycleListener;
+import surge.actors.Path;
+import surge.actors.Receiver;
+import surge.actors.Receiver.FailureAction;
+import surge.actors.mailboxes.Envelope;
+import surge.actors.messages.ChildTerminated;
+import surge.actors.messages.Kill;
+import surge.actors.messages.Stop;
+import surge.actors.messages.Unwatch;
+import surge.actors.messages.Watch;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.concurrent.CompletionStage;
+import java.util.function.Function;
+
+/**
+ * Actor that distributes messages over a number of identical routees. Messages are
+ * routed on the thread of the sender, directly into the mailbox of the selected
+ * routee, without passing through the mailbox of the router.
+ *
+ * The router is backed by a supervising actor whose children are the routees. Failing
+ * routees are supervised by it, restarted routees keep receiving messages. Routees
+ * that terminate are removed from the router. The supervising actor also receives the
+ * {@link Stop}, {@link Kill}, {@link Watch} and {@link Unwatch} messages sent to the
+ * router, stopping the router stops all of its routees.
+ */
+public class RouterActor implements Actor {
+  private final static LocalActor[] NO_ROUTEES = new LocalActor[0];
+
+  private final RoutingStrategy strategy;
+  private final LifecycleListener lifecycleListener;
+  private LocalActor supervisor;
+
+  // Only modified by the supervisor, routing reads a consistent snapshot:
+  private volatile LocalActor[] routees = NO_ROUTEES;
+
+  // Numbers the routees, survives restarts of the supervisor so that a new routee never
+  // gets the name of one that is still stopping:
+  private int nextRoutee = 0;
+
+  private RouterActor(final RoutingStrategy strategy, final LifecycleListener lifecycleListener) {
+    this.strategy = strategy;
+    this.lifecycleListener = lifecycleListener;
+  }
+
+  static RouterActor spawn(final LocalActorFactory factory, final FactoryWithContext entry,
+      final String name, final int size, final RoutingStrategy strategy,
+      final Function<Exception, FailureAction> supervisorStrategy) {
+    Objects.requireNonNull(entry, "entry cannot be null");
+    Objects.requireNonNull(name, "name cannot be null");
+    Objects.requireNonNull(strategy, "strategy cannot be null");
+    Objects.requireNonNull(supervisorStrategy, "supervisorStrategy cannot be null");
+
+    if (size < 0) {
+      throw new IllegalArgumentException("size cannot be negative");
+    }
+
+    final RouterActor router = new RouterActor(strategy, factory.getLifecycleListener());
+
+    // The routees are spawned while the supervisor initializes, the router is ready to
+    // route messages when spawning returns:
+    router.supervisor = factory.spawn(
+        context -> router.createSupervisor(context, entry, size, supervisorStrategy), name);
+
+    return router;
+  }
+
+  private Receiver createSupervisor(final Context context, final FactoryWithContext entry,
+      final int size, final Function<Exception, FailureAction> supervisorStrategy) {
+    // The routees of a restarted supervisor have been stopped, spawn new ones:
+    routees = NO_ROUTEES;
+    resize(context, entry, size);
+
+    return Receiver.builder()
+        .match(Resize.class, (msg, ctx) -> {
+          resize(ctx, entry, msg.size);
+        })
+        .match(ChildTerminated.class, (msg, ctx) -> {
+          remove(ctx.getSender());
+        })
+        .onFailure(Exception.class, supervisorStrategy)
+        .build();
+  }
+
+  private void resize(final Context context, final FactoryWithContext entry, final int size) {
+    final LocalActor[] current = routees;
+
+    if (size > current.length) {
+      final LocalActor[] resized = Arrays.copyOf(current, size);
+      for (int i = current.length; i < size; ++ i) {
+        resized[i] = (LocalActor) context.spawn(entry, "routee-" + (nextRoutee ++));
+      }
+      routees = resized;
+    } else if (size < current.length) {
+      // Stop routing to the removed routees first, then let them finish the messages
+      // they have already received:
+      routees = size == 0 ? NO_ROUTEES : Arrays.copyOf(current, size);
+      for (int i = size; i < current.length; ++ i) {
+        current[i].tell(new Stop(), context.getSelf());
+      }
+    }
+  }
+
+  private void remove(final Actor routee) {
+    final LocalActor[] current = routees;
+
+    for (int i = 0; i < current.length; ++ i) {
+      if (current[i] == routee) {
+        final LocalActor[] remaining = new LocalActor[current.length - 1];
+        System.arraycopy(current, 0, remaining, 0, i);
+        System.arraycopy(current, i + 1, remaining, i, current.length - i - 1);
+        routees = remaining.length == 0 ? NO_ROUTEES : remaining;
+        return;
+      }
+    }
+  }
+
+  /**
+   * Changes the number of routees. New routees are spawned, or the most recently
+   * spawned routees are stopped after they have handled the messages they already
+   * received. The change is applied asynchronously by the supervising actor.
+   */
+  public void resize(final int size) {
+    if (size < 0) {
+      throw new IllegalArgumentException("size cannot be negative");
+    }
+
+    supervisor.tell(new Resize(size), supervisor);
+  }
+
+  /**
+   * @return The current number of routees.
+   */
+  public int getSize() {
+    return routees.length;
+  }
+
+  @Override
+  public Path getPath() {
+    return supervisor.getPath();
+  }
+
+  @Override
+  public void tell(final Object message, final Actor sender) {
+    tryTell(message, sender);
+  }
+
+  @Override
+  public boolean tryTell(final Object message, final Actor sender) {
+    Objects.requireNonNull(message, "message cannot be null");
+    Objects.requireNonNull(sender, "sender cannot be null");
+
+    if (message instanceof Stop || message instanceof Kill
+        || message instanceof Watch || message instanceof Unwatch) {
+      return supervisor.tryTell(message, sender);
+    }
+
+    final LocalActor[] current = routees;
+    if (current.length == 0) {
+      lifecycleListener.deadLetter(this, new Envelope(message, sender));
+      return false;
+    }
+
+    return strategy.select(message, current).tryTell(message, sender);
+  }
+
+  @Override
+  public void publish(final Filter filter, final Object message, final Actor sender) {
+    supervisor.publish(filter, message, sender);
+  }
+
+  @Override
+  public CompletionStage<Object> ask(final Actor target, final Object message,
+      final Duration timeout) {
+    return supervisor.ask(target, message, timeout);
+  }
+
+  @Override
+  public CompletionStage<Void> awaitTermination(final Duration timeout) {
+    return supervisor.awaitTermination(timeout);
+  }
+
+  @Override
+  public <T> void consume(final CompletionStage<T> value) {
+    Objects.requireNonNull(value, "value cannot be null");
+
+    value.handle((result, error) -> {
+      if (error != null) {
+        tell(error, this);
+      } else {
+        tell(result, this);
+      }
+      return null;
+    });
+  }
+
+  @Override
+  public String toString() {
+    return "RouterActor[" + getPath().getFullName() + "]";
+  }
+
+  private static final class Resize {
+    private final int size;
+
+    Resize(final int size) {
+      this.size = size;
+    }
+  }
+}
@@ -0,0 +1,179 @@
+package surge.actors.actors;
+
+import surge.actors.Actor;
+import surge.actors.Filter;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Trie of live local actors, keyed by the elements of their paths. Publishing a message
+ * with a filter resolves the filter against the subtree of the publishing actor in a
+ * single pass and delivers the message directly to the mailboxes of the matching
+ * actors, instead of forwarding it through the mailbox of every actor along the way.
+ *
+ * Filter levels are matched as follows:
+ * <ul>
+ *   <li>a name matches the child with that name;</li>
+ *   <li><code>+</code> matches all children;</li>
+ *   <li><code>#</code> matches all descendants.</li>
+ * </ul>
+ *
+ * Every descendant that matches <code>#</code> receives the message, the publishing
+ * actor itself doesn't. This differs from forwarding through the mailboxes, which
+ * passed <code>#</code> on to all descendants without delivering it to any of them.
+ *
+ * Nodes are added when an actor is spawned and removed when it terminates. An actor
+ * that is spawned with the name of an actor that hasn't terminated yet takes over its
+ * node, the terminating actor then leaves the node alone. Lookups don't lock and may
+ * run concurrently with changes to the trie.
+ */
+public final class RoutingIndex {
+
+  private RoutingIndex() {
+  }
+
+  public static Node root() {
+    return new Node(null, "");
+  }
+
+  public static final class Node {
+    private final Node parent;
+    private final String name;
+    private final AtomicReference<LocalActor> actor = new AtomicReference<>();
+    private volatile ConcurrentHashMap<String, Node> children;
+
+    private Node(final Node parent, final String name) {
+      this.parent = parent;
+      this.name = name;
+    }
+
+    /**
+     * Registers an actor as a child of this node, in place of any actor that has been
+     * registered with the same name before.
+     *
+     * @return The node of the actor.
+     */
+    public Node add(final String name, final LocalActor actor) {
+      Objects.requireNonNull(name, "name cannot be null");
+      Objects.requireNonNull(actor, "actor cannot be null");
+
+      // Set the actor while holding the entry, so that the node can't be unlinked in
+      // between:
+      return getOrCreateChildren().compute(name, (n, existing) -> {
+        final Node child = existing != null ? existing : new Node(this, n);
+        child.actor.set(actor);
+        return child;
+      });
+    }
+
+    /**
+     * Unregisters an actor from this node, unless the node has been taken over by an
+     * actor with the same name in the mean time. The node is removed from the trie
+     * once it has neither an actor nor children.
+     *
+     * @param expected The actor that has been registered.
+     */
+    public void remove(final LocalActor expected) {
+      if (actor.compareAndSet(expected, null)) {
+        unlinkIfUnused();
+      }
+    }
+
+    private void unlinkIfUnused() {
+      if (parent == null) {
+        return;
+      }
+
+      final ConcurrentHashMap<String, Node> siblings = parent.children;
+      if (siblings == null) {
+        return;
+      }
+
+      // Checked while holding the entry, see add:
+      final Node remaining = siblings.computeIfPresent(name, (n, node) ->
+          node == this && node.actor.get() == null && node.isLeaf() ? null : node);
+
+      // The parent may have been kept only for this node:
+      if (remaining == null) {
+        parent.unlinkIfUnused();
+      }
+    }
+
+    private boolean isLeaf() {
+      final ConcurrentHashMap<String, Node> currentChildren = children;
+      return currentChildren == null || currentChildren.isEmpty();
+    }
+
+    /**
+     * Delivers a message to all actors below this node that match the filter.
+     */
+    public void publish(final Filter filter, final Object payload, final Actor sender) {
+      final ConcurrentHashMap<String, Node> currentChildren = children;
+      if (currentChildren == null) {
+        return;
+      }
+
+      final String level = filter.getLevel();
+      final Filter remainder = filter.getRemainder().orElse(null);
+
+      if ("#".equals(level)) {
+        for (final Node child : currentChildren.values()) {
+          child.deliverToSubtree(payload, sender);
+        }
+      } else if ("+".equals(level)) {
+        for (final Node child : currentChildren.values()) {
+          child.publishOrDeliver(remainder, payload, sender);
+        }
+      } else {
+        final Node child = currentChildren.get(level);
+        if (child != null) {
+          child.publishOrDeliver(remainder, payload, sender);
+        }
+      }
+    }
+
+    private void publishOrDeliver(final Filter remainder, final Object payload,
+        final Actor sender) {
+      if (remainder != null) {
+        publish(remainder, payload, sender);
+      } else {
+        deliver(payload, sender);
+      }
+    }
+
+    private void deliverToSubtree(final Object payload, final Actor sender) {
+      deliver(payload, sender);
+
+      final ConcurrentHashMap<String, Node> currentChildren = children;
+      if (currentChildren != null) {
+        for (final Node child : currentChildren.values()) {
+          child.deliverToSubtree(payload, sender);
+        }
+      }
+    }
+
+    private void deliver(final Object payload, final Actor sender) {
+      final LocalActor currentActor = actor.get();
+      if (currentActor != null) {
+        currentActor.tell(payload, sender);
+      }
+    }
+
+    private ConcurrentHashMap<String, Node> getOrCreateChildren() {
+      ConcurrentHashMap<String, Node> currentChildren = children;
+
+      if (currentChildren == null) {
+        synchronized (this) {
+          currentChildren = children;
+          if (currentChildren == null) {
+            currentChildren = new ConcurrentHashMap<>();
+            children = currentChildren;
+          }
+        }
+      }
+
+      return currentChildren;
+    }
+  }
+}
@@ -0,0 +1,156 @@
+package surge.actors.actors;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * Selects the routee of a {@link RouterActor} that receives a message. Strategies are
+ * invoked concurrently from the threads that send messages to the router.
+ */
+@FunctionalInterface
+public interface RoutingStrategy {
+
+  /**
+   * @param message The message that is being sent.
+   * @param routees The current routees, never empty. The same array instance is
+   *    passed until the routees change.
+   * @return The routee that receives the message.
+   */
+  LocalActor select(Object message, LocalActor[] routees);
+
+  /**
+   * Sends each message to the next routee in turn.
+   */
+  static RoutingStrategy roundRobin() {
+    final AtomicInteger next = new AtomicInteger();
+    return (message, routees) ->
+        routees[Math.floorMod(next.getAndIncrement(), routees.length)];
+  }
+
+  /**
+   * Sends each message to a randomly selected routee.
+   */
+  static RoutingStrategy random() {
+    return (message, routees) -> routees[ThreadLocalRandom.current().nextInt(routees.length)];
+  }
+
+  /**
+   * Sends each message to the routee that has the fewest messages waiting in its
+   * mailbox. Ties are resolved in favour of the first routee.
+   */
+  static RoutingStrategy smallestMailbox() {
+    return (message, routees) -> {
+      LocalActor selected = routees[0];
+      int smallest = selected.getNumberOfMessages();
+
+      for (int i = 1; i < routees.length && smallest > 0; ++ i) {
+        final int size = routees[i].getNumberOfMessages();
+        if (size < smallest) {
+          selected = routees[i];
+          smallest = size;
+        }
+      }
+
+      return selected;
+    };
+  }
+
+  /**
+   * Sends messages with the same key to the same routee, as long as the routees don't
+   * change. Routees are placed on a hash ring by name, so that resizing the router
+   * only moves the keys of a proportional share of the routees. Messages without a
+   * key are sent to a random routee.
+   *
+   * @param keyExtractor Returns the key of a message, or null if it has none.
+   */
+  static RoutingStrategy consistentHash(final Function<Object, Object> keyExtractor) {
+    return new ConsistentHashStrategy(keyExtractor);
+  }
+
+  final class ConsistentHashStrategy implements RoutingStrategy {
+    private final static int VIRTUAL_NODES = 32;
+
+    private final Function<Object, Object> keyExtractor;
+    private volatile Ring ring = new Ring(new LocalActor[0]);
+
+    private ConsistentHashStrategy(final Function<Object, Object> keyExtractor) {
+      this.keyExtractor = Objects.requireNonNull(keyExtractor, "keyExtractor cannot be null");
+    }
+
+    @Override
+    public LocalActor select(final Object message, final LocalActor[] routees) {
+      final Object key = keyExtractor.apply(message);
+      if (key == null) {
+        return routees[ThreadLocalRandom.current().nextInt(routees.length)];
+      }
+
+      // Rebuild the ring when the routees have changed:
+      Ring currentRing = ring;
+      if (currentRing.routees != routees) {
+        currentRing = new Ring(routees);
+        ring = currentRing;
+      }
+
+      return currentRing.lookup(mix(key.hashCode()));
+    }
+
+    private static int mix(final int hash) {
+      // Finalizer of MurmurHash3, spreads keys with similar hash codes over the ring:
+      int h = hash;
+      h ^= h >>> 16;
+      h *= 0x85ebca6b;
+      h ^= h >>> 13;
+      h *= 0xc2b2ae35;
+      h ^= h >>> 16;
+      return h;
+    }
+
+    private static int hashOf(final String name, final int virtualNode) {
+      final byte[] bytes = name.getBytes(StandardCharsets.UTF_8);
+      int hash = 0x9747b28c + virtualNode;
+      for (final byte b : bytes) {
+        hash = 31 * hash + b;
+      }
+      return mix(hash);
+    }
+
+    private static final class Ring {
+      private final LocalActor[] routees;
+      private final int[] hashes;
+      private final LocalActor[] owners;
+
+      Ring(final LocalActor[] routees) {
+        this.routees = routees;
+
+        final long[] entries = new long[routees.length * VIRTUAL_NODES];
+        for (int i = 0; i < routees.length; ++ i) {
+          final String name = routees[i].getPath().getName();
+          for (int v = 0; v < VIRTUAL_NODES; ++ v) {
+            // Sort by hash, keep the index of the routee in the low bits:
+            entries[i * VIRTUAL_NODES + v] = ((long) hashOf(name, v) << 32) | i;
+          }
+        }
+        Arrays.sort(entries);
+
+        this.hashes = new int[entries.length];
+        this.owners = new LocalActor[entries.length];
+        for (int i = 0; i < entries.length; ++ i) {
+          hashes[i] = (int) (entries[i] >> 32);
+          owners[i] = routees[(int) entries[i]];
+        }
+      }
+
+      LocalActor lookup(final int hash) {
+        int index = Arrays.binarySearch(hashes, hash);
+        if (index < 0) {
+          index = -index - 1;
+        }
+        return owners[index == owners.length ? 0 : index];
+      }
+    }
+  }
+}
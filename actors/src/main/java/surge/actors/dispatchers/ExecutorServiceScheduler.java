@@ -2,7 +2,6 @@ package surge.actors.dispatchers;
 
 import surge.actors.Scheduler;
 import java.time.Duration;
-import java.time.temporal.ChronoUnit;
 import java.util.Objects;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.ScheduledExecutorService;
@@ -13,11 +12,28 @@ public class ExecutorServiceScheduler implements Scheduler {
 
   private final ExecutorService executorService;
   private final ScheduledExecutorService scheduledExecutorService;
+  private final int throughput;
+  private final Duration throughputDeadline;
+  private final int maxHandoffs;
+  private final int outboxCapacity;
 
   public ExecutorServiceScheduler(final ExecutorService executorService,
       final ScheduledExecutorService scheduledExecutorService) {
-    this.executorService = Objects.requireNonNull(executorService, "executorService cannot be null");
-    this.scheduledExecutorService = Objects.requireNonNull(scheduledExecutorService, "scheduledExecutorService cannot be null");
+    this(builder(executorService, scheduledExecutorService));
+  }
+
+  private ExecutorServiceScheduler(final Builder builder) {
+    this.executorService = builder.executorService;
+    this.scheduledExecutorService = builder.scheduledExecutorService;
+    this.throughput = builder.throughput;
+    this.throughputDeadline = builder.throughputDeadline;
+    this.maxHandoffs = builder.maxHandoffs;
+    this.outboxCapacity = builder.outboxCapacity;
+  }
+
+  public static Builder builder(final ExecutorService executorService,
+      final ScheduledExecutorService scheduledExecutorService) {
+    return new Builder(executorService, scheduledExecutorService);
   }
 
   @Override
@@ -28,6 +44,90 @@ public class ExecutorServiceScheduler implements Scheduler {
   @Override
   public ScheduledFuture<?> schedule(final Runnable runnable, final Duration delay) {
     return scheduledExecutorService
-        .schedule(runnable, delay.get(ChronoUnit.NANOS), TimeUnit.NANOSECONDS);
+        .schedule(runnable, delay.toNanos(), TimeUnit.NANOSECONDS);
+  }
+
+  @Override
+  public int getThroughput() {
+    return throughput;
+  }
+
+  @Override
+  public Duration getThroughputDeadline() {
+    return throughputDeadline;
+  }
+
+  @Override
+  public int getMaxHandoffs() {
+    return maxHandoffs;
+  }
+
+  @Override
+  public int getOutboxCapacity() {
+    return outboxCapacity;
+  }
+
+  public static class Builder {
+    private final ExecutorService executorService;
+    private final ScheduledExecutorService scheduledExecutorService;
+    private int throughput = Integer.MAX_VALUE;
+    private Duration throughputDeadline = Duration.ZERO;
+    private int maxHandoffs = 0;
+    private int outboxCapacity = 0;
+
+    private Builder(final ExecutorService executorService,
+        final ScheduledExecutorService scheduledExecutorService) {
+      this.executorService = Objects.requireNonNull(executorService, "executorService cannot be null");
+      this.scheduledExecutorService = Objects.requireNonNull(scheduledExecutorService, "scheduledExecutorService cannot be null");
+    }
+
+    /**
+     * @see Scheduler#getThroughput()
+     */
+    public Builder throughput(final int throughput) {
+      if (throughput <= 0) {
+        throw new IllegalArgumentException("throughput must be positive");
+      }
+      this.throughput = throughput;
+      return this;
+    }
+
+    /**
+     * @see Scheduler#getThroughputDeadline()
+     */
+    public Builder throughputDeadline(final Duration throughputDeadline) {
+      Objects.requireNonNull(throughputDeadline, "throughputDeadline cannot be null");
+      if (throughputDeadline.isNegative()) {
+        throw new IllegalArgumentException("throughputDeadline cannot be negative");
+      }
+      this.throughputDeadline = throughputDeadline;
+      return this;
+    }
+
+    /**
+     * @see Scheduler#getMaxHandoffs()
+     */
+    public Builder maxHandoffs(final int maxHandoffs) {
+      if (maxHandoffs < 0) {
+        throw new IllegalArgumentException("maxHandoffs cannot be negative");
+      }
+      this.maxHandoffs = maxHandoffs;
+      return this;
+    }
+
+    /**
+     * @see Scheduler#getOutboxCapacity()
+     */
+    public Builder outboxCapacity(final int outboxCapacity) {
+      if (outboxCapacity < 0) {
+        throw new IllegalArgumentException("outboxCapacity cannot be negative");
+      }
+      this.outboxCapacity = outboxCapacity;
+      return this;
+    }
+
+    public ExecutorServiceScheduler build() {
+      return new ExecutorServiceScheduler(this);
+    }
   }
 }
@@ -0,0 +1,283 @@
+package surge.actors.dispatchers;
+
+import surge.actors.Scheduler;
+import java.time.Duration;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Scheduler that runs mailboxes on an executor service and keeps delayed tasks in a
+ * hashed timer wheel. Adding and cancelling a delayed task is a constant time
+ * operation that doesn't contend on a shared heap, which makes it suitable for large
+ * numbers of actors with receive timeouts. The price is precision: delayed tasks run
+ * on the first tick after their delay expires.
+ *
+ * Delayed tasks are executed on the timer thread and should be short, for example
+ * sending a message to an actor. The timer thread is started when the first delayed
+ * task is scheduled.
+ */
+public class HashedWheelScheduler implements Scheduler {
+
+  private final ExecutorService executorService;
+  private final long tickNanos;
+  private final Bucket[] wheel;
+  private final int mask;
+  private final long startTime;
+  private final ConcurrentLinkedQueue<WheelTimeout> pendingTimeouts = new ConcurrentLinkedQueue<>();
+  private final ConcurrentLinkedQueue<WheelTimeout> cancelledTimeouts = new ConcurrentLinkedQueue<>();
+  private final Thread worker;
+  private final AtomicBoolean started = new AtomicBoolean(false);
+
+  private volatile boolean running = true;
+
+  // Only accessed by the worker thread:
+  private long tick = 0;
+
+  public HashedWheelScheduler(final ExecutorService executorService) {
+    this(executorService, Duration.ofMillis(10), 512);
+  }
+
+  public HashedWheelScheduler(final ExecutorService executorService, final Duration tickDuration,
+      final int ticksPerWheel) {
+    this.executorService = Objects.requireNonNull(executorService, "executorService cannot be null");
+    Objects.requireNonNull(tickDuration, "tickDuration cannot be null");
+
+    if (tickDuration.isNegative() || tickDuration.isZero()) {
+      throw new IllegalArgumentException("tickDuration must be positive");
+    }
+    if (ticksPerWheel <= 0 || ticksPerWheel > (1 << 30)) {
+      throw new IllegalArgumentException("ticksPerWheel must be between 1 and 2^30");
+    }
+
+    // Round the size of the wheel up to a power of two:
+    final int size = Integer.highestOneBit(ticksPerWheel - 1) << 1;
+
+    this.tickNanos = tickDuration.toNanos();
+    this.wheel = new Bucket[Math.max(size, 1)];
+    this.mask = wheel.length - 1;
+    for (int i = 0; i < wheel.length; ++ i) {
+      wheel[i] = new Bucket();
+    }
+
+    this.startTime = System.nanoTime();
+    this.worker = new Thread(this::run, "surge-wheel-timer");
+    this.worker.setDaemon(true);
+  }
+
+  @Override
+  public void schedule(final Runnable runnable) {
+    executorService.execute(runnable);
+  }
+
+  @Override
+  public ScheduledFuture<?> schedule(final Runnable runnable, final Duration delay) {
+    Objects.requireNonNull(runnable, "runnable cannot be null");
+    Objects.requireNonNull(delay, "delay cannot be null");
+
+    final WheelTimeout timeout = new WheelTimeout(runnable,
+        System.nanoTime() - startTime + Math.max(0, delay.toNanos()));
+
+    pendingTimeouts.add(timeout);
+
+    // Start the timer thread once the scheduler has been constructed and is used:
+    if (!started.get() && started.compareAndSet(false, true)) {
+      worker.start();
+    }
+
+    return timeout;
+  }
+
+  /**
+   * Stops the timer thread. Delayed tasks that haven't run yet are discarded. The
+   * executor service is not shut down.
+   */
+  public void shutdown() {
+    running = false;
+
+    if (started.get()) {
+      worker.interrupt();
+    }
+  }
+
+  private void run() {
+    // Skip the ticks that have passed before the timer thread started:
+    tick = (System.nanoTime() - startTime) / tickNanos;
+
+    while (running) {
+      final long deadline = waitForNextTick();
+      if (deadline < 0) {
+        continue;
+      }
+
+      removeCancelledTimeouts();
+      transferPendingTimeouts();
+      wheel[(int) (tick & mask)].expire(deadline, pendingTimeouts);
+
+      ++ tick;
+    }
+  }
+
+  /**
+   * @return The current time relative to the start time, or -1 if interrupted.
+   */
+  private long waitForNextTick() {
+    final long deadline = tickNanos * (tick + 1);
+
+    while (true) {
+      final long currentTime = System.nanoTime() - startTime;
+      final long sleepMillis = (deadline - currentTime + 999_999) / 1_000_000;
+
+      if (sleepMillis <= 0) {
+        return currentTime;
+      }
+
+      try {
+        Thread.sleep(sleepMillis);
+      } catch (InterruptedException e) {
+        return -1;
+      }
+    }
+  }
+
+  private void transferPendingTimeouts() {
+    WheelTimeout timeout;
+
+    while ((timeout = pendingTimeouts.poll()) != null) {
+      if (timeout.isCancelled()) {
+        continue;
+      }
+
+      final long targetTick = timeout.deadline / tickNanos;
+
+      // Timeouts that are already expired are handled in the current tick:
+      timeout.remainingRounds = (targetTick - tick) / wheel.length;
+      wheel[(int) (Math.max(targetTick, tick) & mask)].add(timeout);
+    }
+  }
+
+  private void removeCancelledTimeouts() {
+    WheelTimeout timeout;
+
+    while ((timeout = cancelledTimeouts.poll()) != null) {
+      if (timeout.bucket != null) {
+        timeout.bucket.remove(timeout);
+      }
+    }
+  }
+
+  private final class WheelTimeout extends FutureTask<Object> implements ScheduledFuture<Object> {
+    private final long deadline;
+
+    // Only accessed by the worker thread:
+    private long remainingRounds;
+    private Bucket bucket;
+    private WheelTimeout next;
+    private WheelTimeout previous;
+
+    WheelTimeout(final Runnable runnable, final long deadline) {
+      super(runnable, null);
+      this.deadline = deadline;
+    }
+
+    @Override
+    public boolean cancel(final boolean mayInterruptIfRunning) {
+      final boolean cancelled = super.cancel(mayInterruptIfRunning);
+
+      if (cancelled) {
+        cancelledTimeouts.add(this);
+      }
+
+      return cancelled;
+    }
+
+    @Override
+    public long getDelay(final TimeUnit unit) {
+      return unit.convert(deadline - (System.nanoTime() - startTime), TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public int compareTo(final Delayed other) {
+      return Long.compare(getDelay(TimeUnit.NANOSECONDS), other.getDelay(TimeUnit.NANOSECONDS));
+    }
+  }
+
+  /**
+   * Doubly linked list of timeouts that fall into the same slot of the wheel. Only
+   * accessed by the worker thread.
+   */
+  private static final class Bucket {
+    private WheelTimeout head;
+    private WheelTimeout tail;
+
+    void add(final WheelTimeout timeout) {
+      timeout.bucket = this;
+      if (head == null) {
+        head = tail = timeout;
+      } else {
+        tail.next = timeout;
+        timeout.previous = tail;
+        tail = timeout;
+      }
+    }
+
+    /**
+     * Runs the timeouts of this bucket that have expired.
+     *
+     * @param deadline The current time relative to the start time.
+     * @param pending Receives the timeouts that are in their last round but not yet due,
+     *    which are added to the wheel again.
+     */
+    void expire(final long deadline, final Queue<WheelTimeout> pending) {
+      WheelTimeout timeout = head;
+
+      while (timeout != null) {
+        final WheelTimeout next = timeout.next;
+
+        if (timeout.remainingRounds <= 0) {
+          remove(timeout);
+          if (timeout.deadline <= deadline) {
+            timeout.run();
+          } else if (!timeout.isCancelled()) {
+            pending.add(timeout);
+          }
+        } else if (timeout.isCancelled()) {
+          remove(timeout);
+        } else {
+          -- timeout.remainingRounds;
+        }
+
+        timeout = next;
+      }
+    }
+
+    void remove(final WheelTimeout timeout) {
+      if (timeout.bucket != this) {
+        return;
+      }
+
+      if (timeout.previous != null) {
+        timeout.previous.next = timeout.next;
+      }
+      if (timeout.next != null) {
+        timeout.next.previous = timeout.previous;
+      }
+      if (timeout == head) {
+        head = timeout.next;
+      }
+      if (timeout == tail) {
+        tail = timeout.previous;
+      }
+
+      timeout.next = null;
+      timeout.previous = null;
+      timeout.bucket = null;
+    }
+  }
+}
@@ -0,0 +1,77 @@
+package surge.actors.dispatchers;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Decides what the thread of a {@link PinnedScheduler} lane does when it has no work.
+ * Strategies trade CPU usage for latency: a lane that spins picks up new work within
+ * nanoseconds, but keeps a core busy while idle. A parked lane is woken up by the
+ * thread that schedules work on it.
+ */
+@FunctionalInterface
+public interface IdleStrategy {
+
+  /**
+   * Invoked each time the lane has found no work.
+   *
+   * @param idleCount The number of consecutive times the lane has found no work,
+   *                  starting at zero. Reset when the lane finds work.
+   */
+  void idle(int idleCount);
+
+  /**
+   * Parks the thread until work is scheduled on the lane. Uses the least CPU, at the
+   * cost of a wake up for every message that arrives at an idle lane.
+   */
+  static IdleStrategy park() {
+    return idleCount -> LockSupport.park();
+  }
+
+  /**
+   * Yields the thread to other threads that are ready to run.
+   */
+  static IdleStrategy yielding() {
+    return idleCount -> Thread.yield();
+  }
+
+  /**
+   * Spins without giving up the thread, for the lowest latency.
+   */
+  static IdleStrategy busySpin() {
+    return idleCount -> Thread.onSpinWait();
+  }
+
+  /**
+   * Spins first, then yields and finally parks the thread.
+   *
+   * @param spins The number of times to spin before yielding.
+   * @param yields The number of times to yield before parking.
+   * @param maxPark The maximum time to park. The park time doubles each time, up to
+   *                this limit.
+   */
+  static IdleStrategy backoff(final int spins, final int yields, final Duration maxPark) {
+    Objects.requireNonNull(maxPark, "maxPark cannot be null");
+
+    if (spins < 0 || yields < 0) {
+      throw new IllegalArgumentException("spins and yields cannot be negative");
+    }
+    if (maxPark.isNegative() || maxPark.isZero()) {
+      throw new IllegalArgumentException("maxPark must be positive");
+    }
+
+    final long maxParkNanos = maxPark.toNanos();
+
+    return idleCount -> {
+      if (idleCount < spins) {
+        Thread.onSpinWait();
+      } else if (idleCount < spins + yields) {
+        Thread.yield();
+      } else {
+        final int parks = Math.min(idleCount - spins - yields, 30);
+        LockSupport.parkNanos(Math.min(1000L << parks, maxParkNanos));
+      }
+    };
+  }
+}
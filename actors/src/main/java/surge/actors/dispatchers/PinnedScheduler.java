@@ -0,0 +1,252 @@
+package surge.actors.dispatchers;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import surge.actors.Path;
+import surge.actors.Scheduler;
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Scheduler that runs each actor on a fixed thread. Actors are assigned to one of a
+ * fixed number of lanes by the hash of their path, each lane has a thread of its own.
+ * An actor therefore keeps its state in the caches of the core that runs the lane,
+ * instead of moving between the threads of a pool.
+ *
+ * A lane that runs out of work may steal from another lane, but only from a lane that
+ * is overloaded: a lane that has more mailboxes waiting than the steal threshold.
+ * What an idle lane does otherwise is decided by its {@link IdleStrategy}.
+ *
+ * Tasks that aren't scheduled on behalf of an actor run on the current lane if they
+ * are scheduled from a lane thread, or are distributed round robin otherwise.
+ * Delayed tasks are executed by the scheduled executor service and should be short,
+ * for example sending a message to an actor. The lane threads are started when the
+ * first task is scheduled.
+ */
+public class PinnedScheduler implements Scheduler {
+
+  private final static Logger LOG = LoggerFactory.getLogger(PinnedScheduler.class);
+
+  private final ScheduledExecutorService scheduledExecutorService;
+  private final Lane[] lanes;
+  private final int stealThreshold;
+  private final IdleStrategy idleStrategy;
+  private final AtomicInteger nextLane = new AtomicInteger();
+  private final AtomicBoolean started = new AtomicBoolean(false);
+
+  private volatile boolean running = true;
+
+  public PinnedScheduler(final ScheduledExecutorService scheduledExecutorService) {
+    this(scheduledExecutorService, Runtime.getRuntime().availableProcessors(),
+        IdleStrategy.backoff(100, 10, Duration.ofMillis(1)), 16);
+  }
+
+  public PinnedScheduler(final ScheduledExecutorService scheduledExecutorService,
+      final int numberOfLanes, final IdleStrategy idleStrategy, final int stealThreshold) {
+    this.scheduledExecutorService = Objects.requireNonNull(scheduledExecutorService, "scheduledExecutorService cannot be null");
+    this.idleStrategy = Objects.requireNonNull(idleStrategy, "idleStrategy cannot be null");
+    this.stealThreshold = stealThreshold;
+
+    if (numberOfLanes <= 0) {
+      throw new IllegalArgumentException("numberOfLanes must be positive");
+    }
+    if (stealThreshold < 0) {
+      throw new IllegalArgumentException("stealThreshold cannot be negative");
+    }
+
+    this.lanes = new Lane[numberOfLanes];
+    for (int i = 0; i < lanes.length; ++ i) {
+      lanes[i] = new Lane(i);
+    }
+  }
+
+  public int getNumberOfLanes() {
+    return lanes.length;
+  }
+
+  /**
+   * @return The number of tasks that are waiting on the lane.
+   */
+  public int getQueueLength(final int lane) {
+    return lanes[lane].size.get();
+  }
+
+  /**
+   * @return The number of tasks the lane has taken from overloaded lanes.
+   */
+  public long getStolenTasks(final int lane) {
+    return lanes[lane].stolen;
+  }
+
+  @Override
+  public void schedule(final Runnable runnable) {
+    start();
+
+    final Thread currentThread = Thread.currentThread();
+
+    if (currentThread instanceof LaneThread && ((LaneThread) currentThread).scheduler() == this) {
+      ((LaneThread) currentThread).lane.add(runnable);
+    } else {
+      lanes[Math.floorMod(nextLane.getAndIncrement(), lanes.length)].add(runnable);
+    }
+  }
+
+  @Override
+  public void schedule(final Path path, final Runnable runnable) {
+    start();
+
+    final int hash = path.hashCode();
+    lanes[Math.floorMod(hash ^ (hash >>> 16), lanes.length)].add(runnable);
+  }
+
+  @Override
+  public ScheduledFuture<?> schedule(final Runnable runnable, final Duration delay) {
+    return scheduledExecutorService
+        .schedule(runnable, delay.toNanos(), TimeUnit.NANOSECONDS);
+  }
+
+  /**
+   * Stops the lane threads. Tasks that haven't run yet are discarded. The scheduled
+   * executor service is not shut down.
+   */
+  public void shutdown() {
+    running = false;
+    for (final Lane lane : lanes) {
+      LockSupport.unpark(lane.thread);
+    }
+  }
+
+  /**
+   * Starts the lane threads once the scheduler has been constructed and is used.
+   */
+  private void start() {
+    if (!started.get() && started.compareAndSet(false, true)) {
+      for (final Lane lane : lanes) {
+        lane.thread.start();
+      }
+    }
+  }
+
+  private void wakeIdleLane(final Lane overloaded) {
+    for (int i = 1; i < lanes.length; ++ i) {
+      final Lane lane = lanes[(overloaded.index + i) % lanes.length];
+
+      if (lane.idle) {
+        LockSupport.unpark(lane.thread);
+        return;
+      }
+    }
+  }
+
+  private Runnable steal(final Lane thief) {
+    for (int i = 1; i < lanes.length; ++ i) {
+      final Lane victim = lanes[(thief.index + i) % lanes.length];
+
+      if (victim.size.get() > stealThreshold) {
+        final Runnable task = victim.poll();
+        if (task != null) {
+          ++ thief.stolen;
+          return task;
+        }
+      }
+    }
+
+    return null;
+  }
+
+  private final class Lane {
+    private final int index;
+    private final ConcurrentLinkedQueue<Runnable> tasks = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger size = new AtomicInteger();
+    private final LaneThread thread;
+
+    // Set while the lane is idle, threads that schedule a task wake it up:
+    private volatile boolean idle = false;
+
+    // Only written by the lane thread:
+    private volatile long stolen = 0;
+
+    Lane(final int index) {
+      this.index = index;
+      this.thread = new LaneThread(this);
+    }
+
+    void add(final Runnable runnable) {
+      tasks.offer(Objects.requireNonNull(runnable, "runnable cannot be null"));
+      final int queued = size.incrementAndGet();
+
+      if (idle) {
+        LockSupport.unpark(thread);
+      } else if (queued > stealThreshold) {
+        // Wake up an idle lane that can take over some of the work:
+        wakeIdleLane(this);
+      }
+    }
+
+    Runnable poll() {
+      final Runnable task = tasks.poll();
+      if (task != null) {
+        size.decrementAndGet();
+      }
+      return task;
+    }
+
+    void run() {
+      int idleCount = 0;
+
+      while (running) {
+        Runnable task = poll();
+        if (task == null) {
+          task = steal(this);
+        }
+
+        if (task != null) {
+          idleCount = 0;
+          try {
+            task.run();
+          } catch (RuntimeException e) {
+            LOG.error("Task failed on lane {}", index, e);
+          }
+          continue;
+        }
+
+        // Announce that the lane is idle before checking for work a last time, a task
+        // that is added afterwards unparks the thread:
+        idle = true;
+        if (tasks.isEmpty() && running) {
+          idleStrategy.idle(idleCount);
+          if (idleCount < Integer.MAX_VALUE) {
+            ++ idleCount;
+          }
+        }
+        idle = false;
+      }
+    }
+  }
+
+  private final class LaneThread extends Thread {
+    private final Lane lane;
+
+    LaneThread(final Lane lane) {
+      super("surge-pinned-" + lane.index);
+      this.lane = lane;
+      setDaemon(true);
+    }
+
+    PinnedScheduler scheduler() {
+      return PinnedScheduler.this;
+    }
+
+    @Override
+    public void run() {
+      lane.run();
+    }
+  }
+}
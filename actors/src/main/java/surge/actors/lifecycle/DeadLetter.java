@@ -0,0 +1,46 @@
+package surge.actors.lifecycle;
+
+import surge.actors.Actor;
+import surge.actors.Path;
+import java.time.Instant;
+import java.util.Objects;
+
+/**
+ * A message that could not be delivered, as sampled by a {@link DeadLetterSink}.
+ */
+public final class DeadLetter {
+  private final Path recipient;
+  private final Object payload;
+  private final Actor sender;
+  private final Instant timestamp;
+
+  public DeadLetter(final Path recipient, final Object payload, final Actor sender,
+      final Instant timestamp) {
+    this.recipient = Objects.requireNonNull(recipient, "recipient cannot be null");
+    this.payload = Objects.requireNonNull(payload, "payload cannot be null");
+    this.sender = Objects.requireNonNull(sender, "sender cannot be null");
+    this.timestamp = Objects.requireNonNull(timestamp, "timestamp cannot be null");
+  }
+
+  public Path getRecipient() {
+    return recipient;
+  }
+
+  public Object getPayload() {
+    return payload;
+  }
+
+  public Actor getSender() {
+    return sender;
+  }
+
+  public Instant getTimestamp() {
+    return timestamp;
+  }
+
+  @Override
+  public String toString() {
+    return "DeadLetter[" + recipient + ", " + payload + ", from " + sender.getPath()
+        + " at " + timestamp + "]";
+  }
+}
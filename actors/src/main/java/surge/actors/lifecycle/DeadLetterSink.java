@@ -0,0 +1,154 @@
+package surge.actors.lifecycle;
+
+import surge.actors.Actor;
+import surge.actors.LifecycleListener;
+import surge.actors.Message;
+import surge.actors.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lifecycle listener that keeps account of dead letters: messages that have been sent
+ * to a terminated actor, dropped from the mailbox of an actor that terminated, or
+ * rejected by a bounded mailbox. Dead letters are counted per recipient path and per
+ * message class, and every n-th dead letter is kept in a ring buffer of recent
+ * samples. All other events, including the dead letters themselves, are passed on to
+ * another listener.
+ *
+ * Recording a dead letter doesn't lock. The number of distinct recipient paths that
+ * are counted is bounded, dead letters for recipients beyond that bound are only
+ * included in the total.
+ */
+public class DeadLetterSink implements LifecycleListener {
+
+  private final LifecycleListener listener;
+  private final int sampleInterval;
+  private final int maxRecipients;
+  private final AtomicLong total = new AtomicLong();
+  private final ConcurrentHashMap<Path, LongAdder> countsByRecipient = new ConcurrentHashMap<>();
+  private final ConcurrentHashMap<Class<?>, LongAdder> countsByClass = new ConcurrentHashMap<>();
+  private final AtomicReferenceArray<DeadLetter> samples;
+
+  public DeadLetterSink(final LifecycleListener listener) {
+    this(listener, 64, 16, 10_000);
+  }
+
+  /**
+   * @param listener The listener to pass events on to.
+   * @param sampleSize The number of recent samples to keep.
+   * @param sampleInterval Keep one out of every this many dead letters as a sample.
+   * @param maxRecipients The maximum number of recipient paths to count dead letters for.
+   */
+  public DeadLetterSink(final LifecycleListener listener, final int sampleSize,
+      final int sampleInterval, final int maxRecipients) {
+    this.listener = Objects.requireNonNull(listener, "listener cannot be null");
+
+    if (sampleSize <= 0) {
+      throw new IllegalArgumentException("sampleSize must be positive");
+    }
+    if (sampleInterval <= 0) {
+      throw new IllegalArgumentException("sampleInterval must be positive");
+    }
+    if (maxRecipients < 0) {
+      throw new IllegalArgumentException("maxRecipients cannot be negative");
+    }
+
+    this.samples = new AtomicReferenceArray<>(sampleSize);
+    this.sampleInterval = sampleInterval;
+    this.maxRecipients = maxRecipients;
+  }
+
+  @Override
+  public void deadLetter(final Actor actor, final Message message) {
+    final long sequence = total.getAndIncrement();
+    final Path recipient = actor.getPath();
+    final Object payload = message.getPayload();
+
+    LongAdder recipientCount = countsByRecipient.get(recipient);
+    if (recipientCount == null && countsByRecipient.size() < maxRecipients) {
+      recipientCount = countsByRecipient.computeIfAbsent(recipient, path -> new LongAdder());
+    }
+    if (recipientCount != null) {
+      recipientCount.increment();
+    }
+
+    countsByClass.computeIfAbsent(payload.getClass(), cls -> new LongAdder()).increment();
+
+    if (sequence % sampleInterval == 0) {
+      final int slot = (int) ((sequence / sampleInterval) % samples.length());
+      samples.set(slot, new DeadLetter(recipient, payload, message.getSender(), Instant.now()));
+    }
+
+    listener.deadLetter(actor, message);
+  }
+
+  /**
+   * @return The total number of dead letters.
+   */
+  public long getTotal() {
+    return total.get();
+  }
+
+  public Map<Path, Long> getCountsByRecipient() {
+    return snapshot(countsByRecipient);
+  }
+
+  public Map<Class<?>, Long> getCountsByClass() {
+    return snapshot(countsByClass);
+  }
+
+  /**
+   * @return The most recently sampled dead letters, oldest first.
+   */
+  public List<DeadLetter> getSamples() {
+    final List<DeadLetter> result = new ArrayList<>(samples.length());
+    for (int i = 0; i < samples.length(); ++ i) {
+      final DeadLetter sample = samples.get(i);
+      if (sample != null) {
+        result.add(sample);
+      }
+    }
+    result.sort((a, b) -> a.getTimestamp().compareTo(b.getTimestamp()));
+    return result;
+  }
+
+  private static <K> Map<K, Long> snapshot(final Map<K, LongAdder> counts) {
+    final Map<K, Long> result = new HashMap<>();
+    counts.forEach((key, count) -> result.put(key, count.sum()));
+    return Collections.unmodifiableMap(result);
+  }
+
+  @Override
+  public void spawned(final Actor actor) {
+    listener.spawned(actor);
+  }
+
+  @Override
+  public void stopped(final Actor actor) {
+    listener.stopped(actor);
+  }
+
+  @Override
+  public void restarted(final Actor actor) {
+    listener.restarted(actor);
+  }
+
+  @Override
+  public void failed(final Actor actor, final Exception cause) {
+    listener.failed(actor, cause);
+  }
+
+  @Override
+  public void receiveTimeout(final Actor actor) {
+    listener.receiveTimeout(actor);
+  }
+}
@@ -0,0 +1,60 @@
+package surge.actors.lifecycle;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import surge.actors.Actor;
+import surge.actors.LifecycleListener;
+import surge.actors.Message;
+
+/**
+ * Lifecycle listener that logs events through SLF4J, this is the default listener.
+ * Failures are logged as warnings, restarts as info and all other events at debug
+ * or trace level. Each event checks whether its level is enabled before doing any
+ * work, so events that aren't logged only cost that check.
+ */
+public class Slf4jLifecycleListener implements LifecycleListener {
+
+  private final static Logger LOG = LoggerFactory.getLogger(Slf4jLifecycleListener.class);
+
+  @Override
+  public void spawned(final Actor actor) {
+    if (LOG.isDebugEnabled()) {
+      LOG.debug("Spawned: {}", actor.getPath());
+    }
+  }
+
+  @Override
+  public void stopped(final Actor actor) {
+    if (LOG.isDebugEnabled()) {
+      LOG.debug("Stopped: {}", actor.getPath());
+    }
+  }
+
+  @Override
+  public void restarted(final Actor actor) {
+    if (LOG.isInfoEnabled()) {
+      LOG.info("Restarted: {}", actor.getPath());
+    }
+  }
+
+  @Override
+  public void failed(final Actor actor, final Exception cause) {
+    if (LOG.isWarnEnabled()) {
+      LOG.warn("Failed: " + actor.getPath(), cause);
+    }
+  }
+
+  @Override
+  public void receiveTimeout(final Actor actor) {
+    if (LOG.isTraceEnabled()) {
+      LOG.trace("Receive timeout: {}", actor.getPath());
+    }
+  }
+
+  @Override
+  public void deadLetter(final Actor actor, final Message message) {
+    if (LOG.isDebugEnabled()) {
+      LOG.debug("Dead letter for {}: {}", actor, message.getPayload());
+    }
+  }
+}
@@ -0,0 +1,611 @@
+package surge.actors.mailboxes;
+
+import surge.actors.Mailbox;
+import surge.actors.Message;
+import surge.actors.PrivateContext;
+import surge.actors.Scheduler;
+import surge.actors.metrics.ActorMetrics;
+import surge.actors.messages.ActorTerminated;
+import surge.actors.messages.MailboxSuspend;
+import surge.actors.messages.MailboxTerminate;
+import surge.actors.messages.MailboxUnsuspend;
+import surge.actors.messages.Watch;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Base class for mailboxes: implements system message handling, suspension and
+ * scheduling of delivery. Subclasses decide how "normal" messages are stored.
+ *
+ * The status word holds both the status flags and the number of queued messages.
+ * Enqueueing a message updates both with a single atomic add, which also tells the
+ * sender whether delivery still has to be scheduled. The drainer subtracts the
+ * number of delivered messages when it resets the scheduled flag.
+ *
+ * If the scheduler allows hand-offs, a mailbox that is scheduled by a thread that is
+ * draining another mailbox of the same scheduler is drained by that thread, after it
+ * has finished the current drain. The mailbox is marked as scheduled in the mean
+ * time, so it is still drained by one thread at a time.
+ *
+ * If the scheduler has an outbox capacity, the messages a receiver sends to mailboxes
+ * that never reject messages are buffered until the receiver returns. They are then
+ * enqueued per target, each batch with a single status update and at most one
+ * scheduling of the target.
+ *
+ * If the receiver of the actor handles messages in batches, the drain collects up to
+ * the batch size of messages before dispatching them. Messages that the context
+ * doesn't dispatch, for example after a failure, are kept and delivered again before
+ * any other message.
+ */
+public abstract class AbstractMailbox implements Mailbox {
+
+  private final static long STATUS_SCHEDULED = 1;
+  private final static long STATUS_SUSPENDED = 2;
+  private final static long STATUS_TERMINATED = 4;
+
+  private final static int COUNT_SHIFT = 3;
+  private final static long COUNT_UNIT = 1L << COUNT_SHIFT;
+
+  private final PrivateContext context;
+  private final MpscQueue systemQueue = new MpscQueue();
+  private final AtomicLong status = new AtomicLong(STATUS_SUSPENDED);
+
+  // The hand-off of the current thread, while it is delivering messages for a
+  // scheduler that allows hand-offs:
+  private final static ThreadLocal<Handoff> HANDOFF = new ThreadLocal<>();
+
+  // Null unless the mailbox is instrumented. The time at which delivery has been
+  // scheduled is only tracked for instrumented mailboxes:
+  private ActorMetrics metrics = null;
+  private long scheduledAt = 0;
+
+  // Only accessed by the draining thread, allocated when the actor receives batches:
+  private ArrayList<Message> batch = null;
+  private ArrayDeque<Message> redelivery = null;
+
+  protected AbstractMailbox(final PrivateContext context) {
+    this.context = Objects.requireNonNull(context, "context cannot be null");
+  }
+
+  /**
+   * Adds a message to the queue of non-system messages.
+   *
+   * @param message The message to add.
+   * @return true if the message has been queued, false if it has been rejected.
+   */
+  protected abstract boolean offer(Message message);
+
+  /**
+   * Adds messages to the queue of non-system messages, in order. Subclasses can
+   * override this to add the messages at once.
+   *
+   * @param messages The messages to add.
+   * @return The number of messages that have been queued.
+   */
+  protected int offerAll(final Collection<? extends Message> messages) {
+    int offered = 0;
+    for (final Message message : messages) {
+      if (offer(message)) {
+        ++ offered;
+      }
+    }
+    return offered;
+  }
+
+  /**
+   * Removes the next non-system message from the queue. Only invoked from the thread
+   * that is draining the mailbox.
+   *
+   * @return The next message, or null if the queue is empty.
+   */
+  protected abstract Message poll();
+
+  /**
+   * Must be invoked by subclasses that remove messages from the queue other than
+   * through {@link #poll()}, to keep the message count accurate.
+   *
+   * @param count The number of messages that have been discarded.
+   */
+  protected void discarded(final int count) {
+    status.getAndAdd(-count * COUNT_UNIT);
+  }
+
+  /**
+   * Returns the number of messages that {@link #poll()} has returned since the previous
+   * invocation, that haven't been added through {@link #offer(Message)}. For example
+   * messages taken from a queue that is shared with other mailboxes. The drain adds
+   * them to the message count before it removes the messages it has delivered. Only
+   * invoked from the thread that is draining the mailbox.
+   */
+  protected int takeUncounted() {
+    return 0;
+  }
+
+  /**
+   * Invoked for messages that could not be delivered to the actor. Subclasses must
+   * invoke this for messages they reject or drop.
+   *
+   * @param message The undeliverable message.
+   */
+  protected void deadLetter(final Message message) {
+    context.getLifecycleListener().deadLetter(context.getSelf(), message);
+  }
+
+  /**
+   * Returns whether non-system messages are waiting, after a drain has finished. The
+   * mailbox is scheduled again if it does and it isn't suspended.
+   *
+   * @param count The number of messages according to the status of the mailbox.
+   */
+  protected boolean hasMessages(final long count) {
+    return count > 0;
+  }
+
+  /**
+   * Invoked when the mailbox terminates, removes the messages that are still in the
+   * queue and reports them as dead letters. Only invoked from the thread that is
+   * draining the mailbox.
+   *
+   * @return The number of messages that have been removed.
+   */
+  protected int discardMessages() {
+    Message message;
+    int count = 0;
+
+    while ((message = poll()) != null) {
+      ++ count;
+      deadLetter(message);
+    }
+
+    return count;
+  }
+
+  /**
+   * Returns whether {@link #offer(Message)} may reject messages. Messages for
+   * mailboxes that may reject them are never buffered in an outbox, so that senders
+   * learn whether their message has been accepted.
+   */
+  protected boolean canReject() {
+    return false;
+  }
+
+  protected PrivateContext getContext() {
+    return context;
+  }
+
+  /**
+   * Returns the number of non-system messages in the mailbox. Messages that are
+   * delivered by a drain that is still in progress may be included in this count.
+   */
+  @Override
+  public int getNumberOfMessages() {
+    return (int) Math.max(0, status.get() >> COUNT_SHIFT);
+  }
+
+  @Override
+  public void instrument(final ActorMetrics metrics) {
+    this.metrics = Objects.requireNonNull(metrics, "metrics cannot be null");
+  }
+
+  @Override
+  public boolean enqueue(final Message message) {
+    if ((status.get() & STATUS_TERMINATED) != 0) {
+      reject(message);
+      return false;
+    }
+
+    // Buffer the message if it is sent by a receiver that has an outbox:
+    if (!canReject() && Outbox.add(this, message)) {
+      return true;
+    }
+
+    if (!offer(message)) {
+      return false;
+    }
+
+    // Count the message and schedule delivery, unless the mailbox has already been
+    // scheduled:
+    if ((status.getAndAdd(COUNT_UNIT) & STATUS_SCHEDULED) == 0) {
+      scheduleDelivery();
+    }
+    return true;
+  }
+
+  /**
+   * Enqueues the messages with a single update of the status, and schedules delivery
+   * at most once.
+   */
+  @Override
+  public int enqueueAll(final Collection<? extends Message> messages) {
+    Objects.requireNonNull(messages, "messages cannot be null");
+
+    if ((status.get() & STATUS_TERMINATED) != 0) {
+      for (final Message message : messages) {
+        reject(message);
+      }
+      return 0;
+    }
+
+    // Keep the messages in order with the messages the receiver has sent before:
+    if (!canReject() && Outbox.addAll(this, messages)) {
+      return messages.size();
+    }
+
+    final int offered = offerAll(messages);
+
+    if (offered > 0 && (status.getAndAdd(offered * COUNT_UNIT) & STATUS_SCHEDULED) == 0) {
+      scheduleDelivery();
+    }
+    return offered;
+  }
+
+  private void reject(final Message message) {
+    // The actor can no longer answer a watch request itself:
+    if (message.getPayload() instanceof Watch) {
+      message.getSender().tell(new ActorTerminated(context.getSelf()), context.getSelf());
+    } else {
+      deadLetter(message);
+    }
+  }
+
+  @Override
+  public void enqueueSystemMessage(final Message message) {
+    if ((status.get() & STATUS_TERMINATED) != 0) {
+      deadLetter(message);
+      return;
+    }
+
+    systemQueue.offer(Envelope.of(message));
+
+    // Schedule delivery:
+    scheduleDelivery();
+  }
+
+  private void scheduleDelivery() {
+    while (true) {
+      final long currentStatus = status.get();
+
+      // See if the queue is scheduled:
+      if ((currentStatus & STATUS_SCHEDULED) == STATUS_SCHEDULED) {
+        // Already scheduled, return:
+        return;
+      }
+
+      if (status.compareAndSet(currentStatus, currentStatus | STATUS_SCHEDULED)) {
+        // We changed the status to scheduled, now schedule mailbox delivery:
+        break;
+      }
+    }
+
+    submitDrain();
+  }
+
+  /**
+   * Schedules delivery if the mailbox is idle: not scheduled, suspended or terminated.
+   *
+   * @return true if delivery has been scheduled.
+   */
+  boolean scheduleIfIdle() {
+    while (true) {
+      final long currentStatus = status.get();
+
+      if ((currentStatus & (STATUS_SCHEDULED | STATUS_SUSPENDED | STATUS_TERMINATED)) != 0) {
+        return false;
+      }
+
+      if (status.compareAndSet(currentStatus, currentStatus | STATUS_SCHEDULED)) {
+        submitDrain();
+        return true;
+      }
+    }
+  }
+
+  private void submitDrain() {
+    if (metrics != null) {
+      scheduledAt = System.nanoTime();
+      metrics.recordScheduled();
+    }
+
+    final Scheduler scheduler = context.getScheduler();
+    if (scheduler.getMaxHandoffs() > 0) {
+      final Handoff handoff = HANDOFF.get();
+      if (handoff != null && handoff.offer(this, scheduler)) {
+        return;
+      }
+    }
+
+    // Make the dispatcher schedule the mailbox:
+    scheduler.schedule(context.getSelf().getPath(), this::deliver);
+  }
+
+  private void deliver() {
+    final Scheduler scheduler = context.getScheduler();
+    final int maxHandoffs = scheduler.getMaxHandoffs();
+
+    if (maxHandoffs <= 0 || HANDOFF.get() != null) {
+      drain();
+      return;
+    }
+
+    // Drain this mailbox, followed by the mailboxes that are handed off to this thread:
+    final Handoff handoff = new Handoff(scheduler, maxHandoffs);
+    HANDOFF.set(handoff);
+    try {
+      AbstractMailbox mailbox = this;
+      while (mailbox != null) {
+        handoff.current = mailbox;
+        mailbox.drain();
+        mailbox = handoff.take();
+      }
+    } finally {
+      HANDOFF.remove();
+
+      // Schedule a mailbox that has been handed off if a drain failed unexpectedly:
+      final AbstractMailbox pending = handoff.take();
+      if (pending != null) {
+        scheduler.schedule(pending.context.getSelf().getPath(), pending::deliver);
+      }
+    }
+  }
+
+  private void drain() {
+    Message message;
+    int removed = 0;
+    int delivered = 0;
+
+    if ((status.get() & STATUS_TERMINATED) != 0) {
+      return;
+    }
+
+    final ActorMetrics currentMetrics = metrics;
+    final long drainStart = currentMetrics != null ? System.nanoTime() : 0;
+    if (currentMetrics != null) {
+      currentMetrics.recordQueueDelay(drainStart - scheduledAt);
+    }
+
+    // Dispatch scheduled system message before any "normal" messages:
+    while ((message = systemQueue.poll()) != null) {
+      final Object payload = message.getPayload();
+
+      if (payload instanceof MailboxSuspend) {
+        // Set the suspended flag on the mailbox:
+        while (true) {
+          final long currentStatus = status.get();
+          if (status.compareAndSet(currentStatus, currentStatus | STATUS_SUSPENDED)) {
+            break;
+          }
+        }
+      } else if (payload instanceof MailboxUnsuspend) {
+        // Clear the suspended flag on the mailbox:
+        while (true) {
+          final long currentStatus = status.get();
+          if (status.compareAndSet(currentStatus, currentStatus & (~STATUS_SUSPENDED))) {
+            break;
+          }
+        }
+      } else if (payload instanceof MailboxTerminate) {
+        // Set the terminated flag, messages that are enqueued from now on are rejected:
+        while (true) {
+          final long currentStatus = status.get();
+          if (status.compareAndSet(currentStatus, currentStatus | STATUS_TERMINATED)) {
+            break;
+          }
+        }
+
+        // Messages that are still in the queue will never be delivered:
+        removed += discardRedelivery();
+        removed += discardMessages();
+
+        if (currentMetrics != null) {
+          currentMetrics.close();
+        }
+      } else {
+        context.dispatchMessage(message);
+      }
+    }
+
+    // Process non-system messages only if the mailbox is not suspended:
+    if ((status.get() & (STATUS_SUSPENDED | STATUS_TERMINATED)) == 0) {
+      // Deliver at most a limited number of messages, or for a limited amount of time,
+      // before yielding to other mailboxes that are waiting for the scheduler:
+      final Scheduler scheduler = context.getScheduler();
+      final int throughput = scheduler.getThroughput();
+      final long deadlineNanos = scheduler.getThroughputDeadline().toNanos();
+      final long deadline = deadlineNanos > 0 ? System.nanoTime() + deadlineNanos : 0;
+      final int outboxCapacity = scheduler.getOutboxCapacity();
+      final Outbox outbox = outboxCapacity > 0 ? Outbox.open(outboxCapacity) : null;
+      int processed = 0;
+
+      try {
+        while (processed < throughput) {
+          final int batchSize = context.getMaxBatchSize();
+          final boolean dispatched;
+
+          if (batchSize > 1) {
+            final List<Message> messages = nextBatch(Math.min(batchSize, throughput - processed));
+            if (messages.isEmpty()) {
+              break;
+            }
+
+            processed += messages.size();
+            dispatched = dispatchBatch(messages, currentMetrics);
+
+            // Keep the messages the context hasn't dispatched:
+            processed -= messages.size();
+            redeliver(messages);
+          } else {
+            if ((message = next()) == null) {
+              break;
+            }
+
+            ++ processed;
+            dispatched = dispatch(message, currentMetrics);
+          }
+
+          // Send the messages the receiver has sent while handling the message:
+          if (outbox != null) {
+            outbox.flush();
+          }
+
+          if (!dispatched) {
+            // Stop dispatching if dispatching the message fails. This defers further
+            // message processing and allows system messages to take precedence, which
+            // may now suspend the mailbox.
+            break;
+          }
+
+          if (deadlineNanos > 0 && System.nanoTime() - deadline >= 0) {
+            break;
+          }
+        }
+      } finally {
+        if (outbox != null) {
+          outbox.close();
+        }
+      }
+
+      removed += processed;
+      delivered = processed;
+    }
+
+    if (currentMetrics != null) {
+      currentMetrics.recordDrain(System.nanoTime() - drainStart, delivered);
+    }
+
+    // Reset the status and remove the delivered and cleared messages from the count:
+    final long currentStatus = status.addAndGet(
+        (takeUncounted() - removed) * COUNT_UNIT - STATUS_SCHEDULED);
+
+    // Schedule delivery if the queue isn't empty:
+    if (!systemQueue.isEmpty()) {
+      scheduleDelivery();
+    }
+    if ((currentStatus & (STATUS_SUSPENDED | STATUS_TERMINATED)) == 0
+        && (hasRedelivery() || hasMessages(currentStatus >> COUNT_SHIFT))) {
+      // Re-schedule delivery only if the queue has items and if the mailbox is not
+      // currently suspended or terminated. This also happens when the throughput limit
+      // is reached.
+      scheduleDelivery();
+    }
+  }
+
+  /**
+   * Mailboxes that are handed off to the thread that is delivering messages. Holds at
+   * most one mailbox at a time, any other mailbox is scheduled as usual. Only accessed
+   * by the thread it belongs to.
+   */
+  private final static class Handoff {
+    private final Scheduler scheduler;
+    private int remaining;
+    private AbstractMailbox current = null;
+    private AbstractMailbox next = null;
+
+    Handoff(final Scheduler scheduler, final int maxHandoffs) {
+      this.scheduler = scheduler;
+      this.remaining = maxHandoffs;
+    }
+
+    boolean offer(final AbstractMailbox mailbox, final Scheduler mailboxScheduler) {
+      // A mailbox that reschedules itself yields to other mailboxes, it must not
+      // continue on the same thread:
+      if (next != null || remaining <= 0 || mailbox == current || mailboxScheduler != scheduler) {
+        return false;
+      }
+
+      next = mailbox;
+      -- remaining;
+      return true;
+    }
+
+    AbstractMailbox take() {
+      final AbstractMailbox mailbox = next;
+      next = null;
+      return mailbox;
+    }
+  }
+
+  private Message next() {
+    final Message message = redelivery != null ? redelivery.pollFirst() : null;
+    return message != null ? message : poll();
+  }
+
+  private List<Message> nextBatch(final int size) {
+    if (batch == null) {
+      batch = new ArrayList<>(size);
+    }
+
+    Message message;
+    while (batch.size() < size && (message = next()) != null) {
+      batch.add(message);
+    }
+    return batch;
+  }
+
+  private void redeliver(final List<Message> messages) {
+    if (messages.isEmpty()) {
+      return;
+    }
+
+    if (redelivery == null) {
+      redelivery = new ArrayDeque<>();
+    }
+
+    // The messages precede the messages that are already waiting to be delivered again:
+    for (int i = messages.size() - 1; i >= 0; -- i) {
+      redelivery.addFirst(messages.get(i));
+    }
+    messages.clear();
+  }
+
+  private boolean hasRedelivery() {
+    return redelivery != null && !redelivery.isEmpty();
+  }
+
+  private int discardRedelivery() {
+    if (redelivery == null) {
+      return 0;
+    }
+
+    final int count = redelivery.size();
+    Message message;
+    while ((message = redelivery.pollFirst()) != null) {
+      deadLetter(message);
+    }
+    return count;
+  }
+
+  private boolean dispatchBatch(final List<Message> messages, final ActorMetrics currentMetrics) {
+    if (currentMetrics == null) {
+      return context.dispatchMessages(messages);
+    }
+
+    final int size = messages.size();
+    final long start = System.nanoTime();
+    final boolean dispatched = context.dispatchMessages(messages);
+    final int handled = size - messages.size();
+
+    // Attribute the time of the batch evenly to its messages:
+    if (handled > 0) {
+      final long nanos = (System.nanoTime() - start) / handled;
+      for (int i = 0; i < handled; ++ i) {
+        currentMetrics.recordMessage(nanos, !dispatched && i == handled - 1);
+      }
+    }
+    return dispatched;
+  }
+
+  private boolean dispatch(final Message message, final ActorMetrics currentMetrics) {
+    if (currentMetrics == null) {
+      return context.dispatchMessage(message);
+    }
+
+    final long start = System.nanoTime();
+    final boolean dispatched = context.dispatchMessage(message);
+    currentMetrics.recordMessage(System.nanoTime() - start, !dispatched);
+    return dispatched;
+  }
+}
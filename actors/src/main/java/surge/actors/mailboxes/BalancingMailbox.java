@@ -0,0 +1,89 @@
+package surge.actors.mailboxes;
+
+import surge.actors.Message;
+import surge.actors.PrivateContext;
+import java.util.Objects;
+
+/**
+ * Mailbox of a worker in a pool of identical actors, which takes its non-system
+ * messages from a {@link BalancingQueue} that is shared with the other workers.
+ * Messages that are sent to the worker itself, like a {@link surge.actors.messages.Stop}
+ * from its supervisor, are kept separately and take precedence over the shared queue.
+ * System messages, suspension and supervision are per worker: a failed worker stops
+ * taking messages until its supervisor has handled the failure, the others carry on.
+ *
+ * The message count of the mailbox status only covers the messages that are sent to
+ * the worker itself, and the messages the worker has taken from the shared queue but
+ * not yet handled. Messages left in the shared queue become dead letters when the
+ * last worker terminates.
+ */
+public class BalancingMailbox extends AbstractMailbox {
+
+  private final BalancingQueue queue;
+  private final MpscQueue ownQueue = new MpscQueue();
+
+  // The number of messages taken from the shared queue during the current drain:
+  private int sharedPolls = 0;
+
+  BalancingMailbox(final PrivateContext context, final BalancingQueue queue) {
+    super(context);
+    this.queue = Objects.requireNonNull(queue, "queue cannot be null");
+  }
+
+  @Override
+  protected boolean offer(final Message message) {
+    ownQueue.offer(Envelope.of(message));
+    return true;
+  }
+
+  @Override
+  protected Message poll() {
+    final Message message = ownQueue.poll();
+    if (message != null) {
+      return message;
+    }
+
+    final Message shared = queue.poll();
+    if (shared != null) {
+      ++ sharedPolls;
+    }
+    return shared;
+  }
+
+  @Override
+  protected int takeUncounted() {
+    final int count = sharedPolls;
+    sharedPolls = 0;
+    return count;
+  }
+
+  @Override
+  protected boolean hasMessages(final long count) {
+    return !ownQueue.isEmpty() || !queue.isEmpty();
+  }
+
+  @Override
+  protected int discardMessages() {
+    // Only the last worker discards the messages in the shared queue:
+    if (queue.remove(this)) {
+      return super.discardMessages();
+    }
+
+    Message message;
+    int count = 0;
+    while ((message = ownQueue.poll()) != null) {
+      ++ count;
+      deadLetter(message);
+    }
+    return count;
+  }
+
+  /**
+   * @return The number of messages sent to the worker itself plus the number of
+   *    messages in the shared queue.
+   */
+  @Override
+  public int getNumberOfMessages() {
+    return super.getNumberOfMessages() + queue.size();
+  }
+}
@@ -0,0 +1,133 @@
+package surge.actors.mailboxes;
+
+import surge.actors.MailboxFactory;
+import surge.actors.Message;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Queue of messages that is shared by a pool of identical actors, each with a
+ * {@link BalancingMailbox}. Every worker takes the next message from the shared queue
+ * when it is ready for it, so that no worker is idle while messages are waiting.
+ *
+ * Messages for the pool are enqueued here rather than in the mailbox of a particular
+ * worker. Enqueueing schedules one idle worker, if there is one. Busy workers check
+ * the shared queue again before they become idle, so a message is never left behind.
+ * Once the last worker has terminated the queue is closed and refuses new messages.
+ */
+public final class BalancingQueue {
+
+  private final ConcurrentLinkedQueue<Message> queue = new ConcurrentLinkedQueue<>();
+  private final static BalancingMailbox[] NO_WORKERS = new BalancingMailbox[0];
+
+  // Copy-on-write, workers are only added and removed when they are spawned or
+  // terminate:
+  private volatile BalancingMailbox[] workers = NO_WORKERS;
+  private final AtomicInteger next = new AtomicInteger();
+
+  // Set by the last worker that terminates, before it discards the shared queue:
+  private volatile boolean closed = false;
+
+  /**
+   * @return A factory for the mailboxes of the workers that share this queue.
+   */
+  public MailboxFactory mailboxFactory() {
+    return context -> {
+      final BalancingMailbox mailbox = new BalancingMailbox(context, this);
+      add(mailbox);
+      return mailbox;
+    };
+  }
+
+  /**
+   * Adds a message to the queue and schedules an idle worker to handle it.
+   *
+   * @return false if the queue has been closed because all workers have terminated,
+   *    the caller is responsible for the message in that case.
+   */
+  public boolean enqueue(final Message message) {
+    Objects.requireNonNull(message, "message cannot be null");
+
+    final Envelope envelope = Envelope.of(message);
+    queue.offer(envelope);
+
+    // The last worker closes the queue before it discards the messages. If the queue
+    // is still open the message is handled or discarded by a worker. Otherwise take it
+    // back, unless the last worker has discarded it already:
+    if (closed) {
+      return !queue.remove(envelope);
+    }
+
+    // Start at a different worker each time, to spread the work over all workers
+    // when the pool isn't saturated:
+    final BalancingMailbox[] candidates = workers;
+    if (candidates.length == 0) {
+      return true;
+    }
+
+    final int start = Math.floorMod(next.getAndIncrement(), candidates.length);
+    for (int i = 0; i < candidates.length; ++ i) {
+      if (candidates[(start + i) % candidates.length].scheduleIfIdle()) {
+        break;
+      }
+    }
+
+    return true;
+  }
+
+  /**
+   * @return The number of messages waiting to be handled by a worker.
+   */
+  public int size() {
+    return queue.size();
+  }
+
+  /**
+   * @return The number of workers that share the queue and haven't terminated.
+   */
+  public int getNumberOfWorkers() {
+    return workers.length;
+  }
+
+  Message poll() {
+    return queue.poll();
+  }
+
+  boolean isEmpty() {
+    return queue.isEmpty();
+  }
+
+  /**
+   * Removes a terminated worker. Removing the last worker closes the queue.
+   *
+   * @return true if it was the last worker.
+   */
+  synchronized boolean remove(final BalancingMailbox worker) {
+    final BalancingMailbox[] current = workers;
+
+    for (int i = 0; i < current.length; ++ i) {
+      if (current[i] == worker) {
+        final BalancingMailbox[] remaining = new BalancingMailbox[current.length - 1];
+        System.arraycopy(current, 0, remaining, 0, i);
+        System.arraycopy(current, i + 1, remaining, i, current.length - i - 1);
+        workers = remaining;
+        break;
+      }
+    }
+
+    if (workers.length == 0) {
+      closed = true;
+    }
+
+    return closed;
+  }
+
+  private synchronized void add(final BalancingMailbox worker) {
+    final BalancingMailbox[] current = workers;
+    final BalancingMailbox[] added = Arrays.copyOf(current, current.length + 1);
+    added[current.length] = worker;
+    workers = added;
+  }
+}
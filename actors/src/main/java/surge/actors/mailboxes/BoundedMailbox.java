@@ -0,0 +1,131 @@
+package surge.actors.mailboxes;
+
+import surge.actors.MailboxFactory;
+import surge.actors.Message;
+import surge.actors.PrivateContext;
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mailbox that holds at most a fixed number of non-system messages. The
+ * {@link OverflowStrategy} determines what happens to messages that arrive while
+ * the mailbox is full. System messages are never subject to the capacity limit.
+ */
+public class BoundedMailbox extends AbstractMailbox {
+
+  public enum OverflowStrategy {
+    /**
+     * Discard the incoming message and hand it to the dead letters. The sender isn't
+     * told: the message counts as accepted.
+     */
+    DROP_NEWEST,
+
+    /**
+     * Discard the oldest pending message to make room for the incoming message.
+     */
+    DROP_OLDEST,
+
+    /**
+     * Refuse the incoming message and hand it to the dead letters. The sender is told
+     * that the message has been rejected, see {@link surge.actors.Actor#tryTell}.
+     */
+    REJECT,
+
+    /**
+     * Make the sender wait for room in the mailbox, up to the push timeout. Messages
+     * that can't be queued within the timeout are handed to the dead letters.
+     *
+     * The sender blocks its thread. An actor that sends to a full mailbox holds a
+     * thread of its scheduler while it waits, and the mailbox can only drain on
+     * another thread of a scheduler. If the target runs on the same scheduler, and all
+     * its threads are held by blocked senders, nothing drains and every sender waits
+     * for the full push timeout. Only use BLOCK for senders outside the actor system,
+     * or for targets that run on a scheduler of their own, see
+     * {@link surge.actors.SpawnOptions.Builder#scheduler}.
+     */
+    BLOCK
+  }
+
+  private final LinkedBlockingQueue<Message> queue;
+  private final OverflowStrategy overflowStrategy;
+  private final Duration pushTimeout;
+
+  public BoundedMailbox(final PrivateContext context, final int capacity,
+      final OverflowStrategy overflowStrategy, final Duration pushTimeout) {
+    super(context);
+
+    if (capacity <= 0) {
+      throw new IllegalArgumentException("capacity must be positive");
+    }
+
+    this.queue = new LinkedBlockingQueue<>(capacity);
+    this.overflowStrategy = Objects.requireNonNull(overflowStrategy, "overflowStrategy cannot be null");
+    this.pushTimeout = Objects.requireNonNull(pushTimeout, "pushTimeout cannot be null");
+  }
+
+  public BoundedMailbox(final PrivateContext context, final int capacity,
+      final OverflowStrategy overflowStrategy) {
+    this(context, capacity, overflowStrategy, Duration.ZERO);
+  }
+
+  public static MailboxFactory factory(final int capacity, final OverflowStrategy overflowStrategy,
+      final Duration pushTimeout) {
+    return context -> new BoundedMailbox(context, capacity, overflowStrategy, pushTimeout);
+  }
+
+  public static MailboxFactory factory(final int capacity, final OverflowStrategy overflowStrategy) {
+    return factory(capacity, overflowStrategy, Duration.ZERO);
+  }
+
+  @Override
+  protected boolean canReject() {
+    return overflowStrategy == OverflowStrategy.REJECT
+        || overflowStrategy == OverflowStrategy.BLOCK;
+  }
+
+  @Override
+  protected boolean offer(final Message message) {
+    switch (overflowStrategy) {
+      case DROP_NEWEST:
+        // The dropped message is accepted, but not counted:
+        if (!queue.offer(message)) {
+          discarded(1);
+          deadLetter(message);
+        }
+        return true;
+      case DROP_OLDEST:
+        while (!queue.offer(message)) {
+          final Message oldest = queue.poll();
+          if (oldest != null) {
+            discarded(1);
+            deadLetter(oldest);
+          }
+        }
+        return true;
+      case BLOCK:
+        try {
+          if (queue.offer(message, pushTimeout.toNanos(), TimeUnit.NANOSECONDS)) {
+            return true;
+          }
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+        }
+        deadLetter(message);
+        return false;
+      default:
+      case REJECT:
+        if (queue.offer(message)) {
+          return true;
+        }
+        deadLetter(message);
+        return false;
+    }
+  }
+
+  @Override
+  protected Message poll() {
+    return queue.poll();
+  }
+}
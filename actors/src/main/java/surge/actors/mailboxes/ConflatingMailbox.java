@@ -0,0 +1,73 @@
+package surge.actors.mailboxes;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import surge.actors.MailboxFactory;
+import surge.actors.Message;
+import surge.actors.PrivateContext;
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * Mailbox that keeps only the latest pending message per key, for actors that are
+ * only interested in the newest value, such as market data or status updates. The
+ * key of a message is determined by a key extractor, that is applied to the payload.
+ * A message replaces the pending message with the same key at its position in the
+ * mailbox, so keys are delivered in the order in which they first arrived and a slow
+ * actor receives the latest value of each key. The number of pending messages is
+ * bounded by the number of distinct keys.
+ *
+ * Messages for which the extractor returns null, and published messages, are never
+ * replaced. Make sure the extractor returns null for messages that must all be
+ * delivered, such as {@link surge.actors.messages.Stop}. Replaced messages are
+ * discarded silently, they are not reported as dead letters.
+ *
+ * The extractor runs on the thread of the sender. If it throws, the exception is
+ * logged and the message is treated as a message without a key, it never reaches
+ * the sender.
+ */
+public class ConflatingMailbox extends AbstractMailbox {
+
+  private final static Logger LOG = LoggerFactory.getLogger(ConflatingMailbox.class);
+
+  private final ConflatingQueue queue = new ConflatingQueue();
+  private final Function<Object, ?> keyExtractor;
+
+  public ConflatingMailbox(final PrivateContext context, final Function<Object, ?> keyExtractor) {
+    super(context);
+    this.keyExtractor = Objects.requireNonNull(keyExtractor, "keyExtractor cannot be null");
+  }
+
+  public static MailboxFactory factory(final Function<Object, ?> keyExtractor) {
+    Objects.requireNonNull(keyExtractor, "keyExtractor cannot be null");
+    return context -> new ConflatingMailbox(context, keyExtractor);
+  }
+
+  @Override
+  protected boolean offer(final Message message) {
+    final Object key = message.getPublishMode() == Message.PublishMode.LOCAL_AND_PUBLISH
+        ? extractKey(message.getPayload())
+        : null;
+
+    // The replaced message is no longer counted, the new message takes its place:
+    if (queue.offer(key, message) != null) {
+      discarded(1);
+    }
+    return true;
+  }
+
+  @Override
+  protected Message poll() {
+    return queue.poll();
+  }
+
+  private Object extractKey(final Object payload) {
+    try {
+      return keyExtractor.apply(payload);
+    } catch (RuntimeException e) {
+      LOG.warn("Key extractor failed, message of type {} is not conflated",
+          payload.getClass().getName(), e);
+      return null;
+    }
+  }
+}
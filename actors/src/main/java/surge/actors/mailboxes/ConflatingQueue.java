@@ -0,0 +1,57 @@
+package surge.actors.mailboxes;
+
+import surge.actors.Message;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Queue that holds at most one message per key. Offering a message with a key that is
+ * already in the queue replaces the pending message, without changing its position:
+ * keys are polled in the order in which they were first added. Messages without a key
+ * are never replaced.
+ *
+ * The queue is guarded by a lock, any number of threads may offer and poll.
+ */
+public final class ConflatingQueue {
+
+  private final LinkedHashMap<Object, Message> messages = new LinkedHashMap<>();
+
+  /**
+   * @param key The key of the message, or null if the message must not replace or be
+   *    replaced by other messages.
+   * @return The pending message that has been replaced, or null.
+   */
+  public Message offer(final Object key, final Message message) {
+    synchronized (messages) {
+      // Messages without a key get a key of their own, which keeps them in order with
+      // the other messages:
+      if (key == null) {
+        messages.put(new Object(), message);
+        return null;
+      }
+
+      // Replacing the value of an existing key keeps its position in the map:
+      return messages.put(key, message);
+    }
+  }
+
+  public Message poll() {
+    synchronized (messages) {
+      final Iterator<Map.Entry<Object, Message>> iterator = messages.entrySet().iterator();
+      if (!iterator.hasNext()) {
+        return null;
+      }
+
+      final Message message = iterator.next().getValue();
+      iterator.remove();
+      return message;
+    }
+  }
+
+  public int size() {
+    synchronized (messages) {
+      return messages.size();
+    }
+  }
+}
@@ -0,0 +1,91 @@
+package surge.actors.mailboxes;
+
+import surge.actors.Actor;
+import surge.actors.Filter;
+import surge.actors.Message;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * Message implementation that doubles as the node of the mailbox queue, so that
+ * sending a message doesn't allocate anything besides the envelope itself. The
+ * publish filter is kept as a nullable field, use {@link #getPublishFilterOrNull()}
+ * on hot paths to avoid allocating an {@link Optional}.
+ */
+public class Envelope implements Message {
+  volatile Envelope next;
+
+  private final Object payload;
+  private final Actor sender;
+  private final PublishMode publishMode;
+  private final Filter publishFilter;
+
+  /**
+   * Creates the stub envelope that is used internally by {@link MpscQueue}.
+   */
+  Envelope() {
+    this.payload = null;
+    this.sender = null;
+    this.publishMode = PublishMode.LOCAL_AND_PUBLISH;
+    this.publishFilter = null;
+  }
+
+  public Envelope(final Object payload, final Actor sender) {
+    this.payload = Objects.requireNonNull(payload, "payload cannot be null");
+    this.sender = Objects.requireNonNull(sender, "sender cannot be null");
+    this.publishMode = PublishMode.LOCAL_AND_PUBLISH;
+    this.publishFilter = null;
+  }
+
+  /**
+   * Creates an envelope for a message that is published to the actors matching
+   * the filter, without delivering it locally.
+   */
+  public Envelope(final Object payload, final Actor sender, final Filter publishFilter) {
+    this.payload = Objects.requireNonNull(payload, "payload cannot be null");
+    this.sender = Objects.requireNonNull(sender, "sender cannot be null");
+    this.publishMode = PublishMode.PUBLISH_ONLY;
+    this.publishFilter = Objects.requireNonNull(publishFilter, "publishFilter cannot be null");
+  }
+
+  public Envelope(final Message message) {
+    Objects.requireNonNull(message, "message cannot be null");
+
+    this.payload = message.getPayload();
+    this.sender = message.getSender();
+    this.publishMode = message.getPublishMode();
+    this.publishFilter = message.getPublishFilterOrNull();
+  }
+
+  /**
+   * Returns the message as an envelope, wrapping it if it isn't one already.
+   */
+  public static Envelope of(final Message message) {
+    return message instanceof Envelope ? (Envelope) message : new Envelope(message);
+  }
+
+  @Override
+  public Object getPayload() {
+    return payload;
+  }
+
+  @Override
+  public Actor getSender() {
+    return sender;
+  }
+
+  @Override
+  public PublishMode getPublishMode() {
+    return publishMode;
+  }
+
+  @Override
+  public Optional<Filter> getPublishFilter() {
+    return Optional.ofNullable(publishFilter);
+  }
+
+  @Override
+  public Filter getPublishFilterOrNull() {
+    return publishFilter;
+  }
+}
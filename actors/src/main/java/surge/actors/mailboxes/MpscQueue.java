@@ -0,0 +1,119 @@
+package surge.actors.mailboxes;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+
+/**
+ * Intrusive multi-producer single-consumer queue of envelopes, based on the
+ * algorithm by Dmitry Vyukov. Envelopes are linked directly, so offering doesn't
+ * allocate and takes a single atomic exchange. {@link #poll()} may only be invoked
+ * by one thread at a time (the thread that is draining the mailbox).
+ *
+ * An envelope can only be in one queue at a time.
+ */
+public final class MpscQueue {
+
+  private final static VarHandle TAIL;
+  private final static VarHandle NEXT;
+
+  static {
+    try {
+      final MethodHandles.Lookup lookup = MethodHandles.lookup();
+      TAIL = lookup.findVarHandle(MpscQueue.class, "tail", Envelope.class);
+      NEXT = lookup.findVarHandle(Envelope.class, "next", Envelope.class);
+    } catch (ReflectiveOperationException e) {
+      throw new ExceptionInInitializerError(e);
+    }
+  }
+
+  private final Envelope stub = new Envelope();
+
+  // Producer side, updated with an atomic exchange:
+  private volatile Envelope tail = stub;
+
+  // Consumer side, only accessed by the draining thread:
+  private Envelope head = stub;
+
+  public void offer(final Envelope envelope) {
+    NEXT.set(envelope, (Envelope) null);
+
+    final Envelope previous = (Envelope) TAIL.getAndSet(this, envelope);
+
+    // Between the exchange and this store the envelope is not reachable by the
+    // consumer, which will observe an empty queue until the link is published:
+    NEXT.setRelease(previous, envelope);
+  }
+
+  /**
+   * Adds a chain of envelopes with a single atomic exchange. The envelopes must have
+   * been linked with {@link #link(Envelope, Envelope)}, from first to last.
+   */
+  public void offerAll(final Envelope first, final Envelope last) {
+    NEXT.set(last, (Envelope) null);
+
+    final Envelope previous = (Envelope) TAIL.getAndSet(this, last);
+
+    // The chain becomes visible to the consumer as a whole:
+    NEXT.setRelease(previous, first);
+  }
+
+  /**
+   * Links two envelopes that are about to be added with {@link #offerAll(Envelope,
+   * Envelope)}. The envelopes are not visible to other threads until then, which
+   * makes a plain store sufficient.
+   */
+  static void link(final Envelope previous, final Envelope next) {
+    NEXT.set(previous, next);
+  }
+
+  public Envelope poll() {
+    Envelope current = head;
+    Envelope next = (Envelope) NEXT.getAcquire(current);
+
+    if (current == stub) {
+      if (next == null) {
+        return null;
+      }
+
+      // Skip over the stub:
+      head = next;
+      current = next;
+      next = (Envelope) NEXT.getAcquire(next);
+    }
+
+    if (next != null) {
+      head = next;
+      return unlink(current);
+    }
+
+    if (current != tail) {
+      // A producer is in the middle of linking a new envelope.
+      return null;
+    }
+
+    // The current envelope is the last one: re-insert the stub so that the current
+    // envelope can be detached from the queue:
+    offer(stub);
+
+    next = (Envelope) NEXT.getAcquire(current);
+    if (next != null) {
+      head = next;
+      return unlink(current);
+    }
+
+    return null;
+  }
+
+  /**
+   * Returns true if the queue contains no envelopes that are visible to the consumer.
+   * Like {@link #poll()}, this may only be invoked by the consumer.
+   */
+  public boolean isEmpty() {
+    return head == stub && NEXT.getAcquire(stub) == null;
+  }
+
+  private static Envelope unlink(final Envelope envelope) {
+    NEXT.set(envelope, (Envelope) null);
+    return envelope;
+  }
+}
@@ -0,0 +1,145 @@
+package surge.actors.mailboxes;
+
+import surge.actors.Message;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.IdentityHashMap;
+import java.util.List;
+
+/**
+ * Buffers the messages a receiver sends while it handles a message. The messages are
+ * grouped by target mailbox and enqueued when the receiver returns, each group with a
+ * single update of the status of the target. Messages keep their order per target.
+ *
+ * An outbox belongs to a thread and is only open while that thread dispatches a
+ * message, messages that are sent at other times are enqueued directly.
+ */
+final class Outbox {
+
+  private final static ThreadLocal<Outbox> OUTBOX = new ThreadLocal<>();
+
+  // Set by the first thread that opens an outbox, saves looking up the outbox of the
+  // current thread if outboxes are not used at all. Other threads may not see the
+  // update, which only means that they don't look for an outbox they can't have:
+  private static boolean used = false;
+
+  private final IdentityHashMap<AbstractMailbox, List<Message>> batches = new IdentityHashMap<>();
+  private final ArrayList<AbstractMailbox> targets = new ArrayList<>();
+  private final ArrayList<List<Message>> spareBatches = new ArrayList<>();
+  private int capacity = 0;
+  private int size = 0;
+  private boolean open = false;
+
+  /**
+   * Opens the outbox of the current thread.
+   *
+   * @param capacity The number of messages after which the outbox is flushed early.
+   */
+  static Outbox open(final int capacity) {
+    Outbox outbox = OUTBOX.get();
+    if (outbox == null) {
+      outbox = new Outbox();
+      OUTBOX.set(outbox);
+      used = true;
+    }
+
+    outbox.capacity = capacity;
+    outbox.open = true;
+    return outbox;
+  }
+
+  /**
+   * Adds the message to the outbox of the current thread, if it has an open outbox.
+   *
+   * @return true if the message has been buffered.
+   */
+  static boolean add(final AbstractMailbox mailbox, final Message message) {
+    if (!used) {
+      return false;
+    }
+
+    final Outbox outbox = OUTBOX.get();
+    if (outbox == null || !outbox.open) {
+      return false;
+    }
+
+    outbox.buffer(mailbox, message);
+    return true;
+  }
+
+  /**
+   * Adds the messages to the outbox of the current thread, if it has an open outbox.
+   *
+   * @return true if the messages have been buffered.
+   */
+  static boolean addAll(final AbstractMailbox mailbox, final Collection<? extends Message> messages) {
+    if (!used) {
+      return false;
+    }
+
+    final Outbox outbox = OUTBOX.get();
+    if (outbox == null || !outbox.open) {
+      return false;
+    }
+
+    for (final Message message : messages) {
+      outbox.buffer(mailbox, message);
+    }
+    return true;
+  }
+
+  private void buffer(final AbstractMailbox mailbox, final Message message) {
+    List<Message> batch = batches.get(mailbox);
+    if (batch == null) {
+      final int spare = spareBatches.size();
+      batch = spare > 0 ? spareBatches.remove(spare - 1) : new ArrayList<>();
+      batches.put(mailbox, batch);
+      targets.add(mailbox);
+    }
+    batch.add(message);
+
+    if (++ size >= capacity) {
+      flush();
+    }
+  }
+
+  /**
+   * Enqueues the buffered messages. The outbox is closed while it is flushed, messages
+   * that are sent in the mean time, for example replies to watch requests of a
+   * terminated actor, are enqueued directly.
+   */
+  void flush() {
+    if (size == 0) {
+      return;
+    }
+
+    final boolean wasOpen = open;
+    open = false;
+    try {
+      for (final AbstractMailbox target : targets) {
+        target.enqueueAll(batches.get(target));
+      }
+    } finally {
+      // Keep the lists for the next messages, up to one list per target of this flush:
+      for (final List<Message> batch : batches.values()) {
+        batch.clear();
+        spareBatches.add(batch);
+      }
+      targets.clear();
+      batches.clear();
+      size = 0;
+      open = wasOpen;
+    }
+  }
+
+  /**
+   * Flushes and closes the outbox.
+   */
+  void close() {
+    try {
+      flush();
+    } finally {
+      open = false;
+    }
+  }
+}
@@ -0,0 +1,65 @@
+package surge.actors.metrics;
+
+/**
+ * Records the metrics of a single actor. Except for {@link #recordScheduled()}, all
+ * methods are invoked by the thread that is draining the mailbox of the actor, which
+ * means that a recorder is never invoked concurrently and doesn't need to lock.
+ */
+public interface ActorMetrics {
+
+  /**
+   * Records that the mailbox has been scheduled. Invoked by the thread that schedules
+   * the mailbox, before the drain starts.
+   */
+  default void recordScheduled() {
+  }
+
+  /**
+   * Records the time between scheduling the mailbox and the start of the drain.
+   *
+   * @param nanos The delay in nanoseconds.
+   */
+  void recordQueueDelay(long nanos);
+
+  /**
+   * Records the handling of a non-system message.
+   *
+   * @param nanos The time it took to handle the message, in nanoseconds.
+   * @param failed true if the receiver failed to handle the message.
+   */
+  void recordMessage(long nanos, boolean failed);
+
+  /**
+   * Records a completed drain of the mailbox.
+   *
+   * @param nanos The duration of the drain, in nanoseconds.
+   * @param messages The number of non-system messages that have been delivered.
+   */
+  default void recordDrain(final long nanos, final int messages) {
+  }
+
+  /**
+   * Records a failure of the actor, after which it is suspended until its supervisor
+   * has decided how to handle the failure.
+   */
+  default void recordFailure(final Exception cause) {
+  }
+
+  /**
+   * Records a restart of the actor.
+   */
+  default void recordRestart() {
+  }
+
+  /**
+   * Records a receive timeout that is delivered to the actor.
+   */
+  default void recordReceiveTimeout() {
+  }
+
+  /**
+   * Invoked when the mailbox of the actor has been terminated. No other methods are
+   * invoked afterwards.
+   */
+  void close();
+}
@@ -0,0 +1,74 @@
+package surge.actors.metrics;
+
+import surge.actors.Path;
+import java.util.Objects;
+
+/**
+ * Metrics of a single actor at the time the snapshot was taken.
+ */
+public final class ActorMetricsSnapshot {
+  private final Path path;
+  private final int mailboxSize;
+  private final long failures;
+  private final Histogram.Snapshot queueDelay;
+  private final Histogram.Snapshot processingTime;
+
+  public ActorMetricsSnapshot(final Path path, final int mailboxSize, final long failures,
+      final Histogram.Snapshot queueDelay, final Histogram.Snapshot processingTime) {
+    this.path = Objects.requireNonNull(path, "path cannot be null");
+    this.mailboxSize = mailboxSize;
+    this.failures = failures;
+    this.queueDelay = Objects.requireNonNull(queueDelay, "queueDelay cannot be null");
+    this.processingTime = Objects.requireNonNull(processingTime, "processingTime cannot be null");
+  }
+
+  public Path getPath() {
+    return path;
+  }
+
+  /**
+   * @return The number of messages waiting in the mailbox.
+   */
+  public int getMailboxSize() {
+    return mailboxSize;
+  }
+
+  /**
+   * @return The number of messages that have been processed.
+   */
+  public long getMessages() {
+    return processingTime.getCount();
+  }
+
+  /**
+   * @return The number of messages the receiver failed to handle.
+   */
+  public long getFailures() {
+    return failures;
+  }
+
+  /**
+   * @return The time, in nanoseconds, between scheduling the mailbox and the start of
+   *    its delivery.
+   */
+  public Histogram.Snapshot getQueueDelay() {
+    return queueDelay;
+  }
+
+  /**
+   * @return The time, in nanoseconds, it took to handle a message.
+   */
+  public Histogram.Snapshot getProcessingTime() {
+    return processingTime;
+  }
+
+  @Override
+  public String toString() {
+    return "ActorMetrics[" + path
+        + ", mailboxSize=" + mailboxSize
+        + ", messages=" + getMessages()
+        + ", failures=" + failures
+        + ", queueDelay=" + queueDelay
+        + ", processingTime=" + processingTime + "]";
+  }
+}
@@ -0,0 +1,91 @@
+package surge.actors.metrics;
+
+import surge.actors.Mailbox;
+import surge.actors.Path;
+
+/**
+ * Metrics collector that registers every actor with several collectors, for example a
+ * {@link MetricsRegistry} together with a collector that emits flight recorder events.
+ * The recorders of the collectors are invoked in the order of the collectors.
+ */
+final class CompositeMetricsCollector implements MetricsCollector {
+
+  private final MetricsCollector[] collectors;
+
+  CompositeMetricsCollector(final MetricsCollector[] collectors) {
+    this.collectors = collectors;
+  }
+
+  @Override
+  public ActorMetrics register(final Path path, final Mailbox mailbox) {
+    final ActorMetrics[] recorders = new ActorMetrics[collectors.length];
+    for (int i = 0; i < collectors.length; ++ i) {
+      recorders[i] = collectors[i].register(path, mailbox);
+    }
+    return new Recorder(recorders);
+  }
+
+  private static final class Recorder implements ActorMetrics {
+    private final ActorMetrics[] recorders;
+
+    Recorder(final ActorMetrics[] recorders) {
+      this.recorders = recorders;
+    }
+
+    @Override
+    public void recordScheduled() {
+      for (final ActorMetrics recorder : recorders) {
+        recorder.recordScheduled();
+      }
+    }
+
+    @Override
+    public void recordQueueDelay(final long nanos) {
+      for (final ActorMetrics recorder : recorders) {
+        recorder.recordQueueDelay(nanos);
+      }
+    }
+
+    @Override
+    public void recordMessage(final long nanos, final boolean failed) {
+      for (final ActorMetrics recorder : recorders) {
+        recorder.recordMessage(nanos, failed);
+      }
+    }
+
+    @Override
+    public void recordDrain(final long nanos, final int messages) {
+      for (final ActorMetrics recorder : recorders) {
+        recorder.recordDrain(nanos, messages);
+      }
+    }
+
+    @Override
+    public void recordFailure(final Exception cause) {
+      for (final ActorMetrics recorder : recorders) {
+        recorder.recordFailure(cause);
+      }
+    }
+
+    @Override
+    public void recordRestart() {
+      for (final ActorMetrics recorder : recorders) {
+        recorder.recordRestart();
+      }
+    }
+
+    @Override
+    public void recordReceiveTimeout() {
+      for (final ActorMetrics recorder : recorders) {
+        recorder.recordReceiveTimeout();
+      }
+    }
+
+    @Override
+    public void close() {
+      for (final ActorMetrics recorder : recorders) {
+        recorder.close();
+      }
+    }
+  }
+}
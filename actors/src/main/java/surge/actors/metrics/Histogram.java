@@ -0,0 +1,196 @@
+package surge.actors.metrics;
+
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Histogram of non-negative values with a fixed set of buckets. Values are bucketed by
+ * their highest bit and the three bits below it, which bounds the relative error of a
+ * reported value to 12.5% over the entire range of long values, using 488 buckets.
+ *
+ * Values must be recorded by a single thread at a time: recording uses ordered writes
+ * instead of atomic read-modify-write operations. Snapshots can be taken concurrently
+ * from any thread, but may be slightly out of date.
+ */
+public final class Histogram {
+  private final static int SUB_BUCKET_BITS = 3;
+  private final static int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+  private final static int BUCKETS = bucketOf(Long.MAX_VALUE) + 1;
+
+  private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+  private final AtomicLong count = new AtomicLong();
+  private final AtomicLong sum = new AtomicLong();
+  private final AtomicLong max = new AtomicLong();
+
+  /**
+   * Records a value. Negative values are recorded as zero.
+   */
+  public void record(final long value) {
+    final long v = Math.max(0, value);
+    final int bucket = bucketOf(v);
+
+    counts.lazySet(bucket, counts.get(bucket) + 1);
+    sum.lazySet(sum.get() + v);
+    if (v > max.get()) {
+      max.lazySet(v);
+    }
+    // The count is written last, a snapshot never has fewer values in the buckets:
+    count.lazySet(count.get() + 1);
+  }
+
+  public Snapshot snapshot() {
+    final long currentCount = count.get();
+    final long[] bucketCounts = new long[BUCKETS];
+    for (int i = 0; i < BUCKETS; ++ i) {
+      bucketCounts[i] = counts.get(i);
+    }
+    return new Snapshot(bucketCounts, currentCount, sum.get(), max.get());
+  }
+
+  /**
+   * Adds the current state of this histogram to an accumulator, without taking a
+   * snapshot of its own.
+   */
+  void addTo(final Accumulator accumulator) {
+    final long currentCount = count.get();
+    final long[] totals = accumulator.counts;
+    for (int i = 0; i < BUCKETS; ++ i) {
+      totals[i] += counts.get(i);
+    }
+    accumulator.count += currentCount;
+    accumulator.sum += sum.get();
+    accumulator.max = Math.max(accumulator.max, max.get());
+  }
+
+  static int bucketOf(final long value) {
+    if (value < SUB_BUCKETS) {
+      return (int) value;
+    }
+
+    final int exponent = 63 - Long.numberOfLeadingZeros(value);
+    final int subBucket = (int) (value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+    return ((exponent - SUB_BUCKET_BITS + 1) << SUB_BUCKET_BITS) + subBucket;
+  }
+
+  /**
+   * @return The highest value that is recorded in the given bucket.
+   */
+  static long highestValueOf(final int bucket) {
+    if (bucket < SUB_BUCKETS) {
+      return bucket;
+    }
+    if (bucket == BUCKETS - 1) {
+      return Long.MAX_VALUE;
+    }
+
+    final int exponent = (bucket >>> SUB_BUCKET_BITS) + SUB_BUCKET_BITS - 1;
+    final long subBucket = bucket & (SUB_BUCKETS - 1);
+    return ((SUB_BUCKETS + subBucket + 1) << (exponent - SUB_BUCKET_BITS)) - 1;
+  }
+
+  /**
+   * Sums histograms into a single snapshot, reusing one set of buckets for all of them.
+   * Not thread safe.
+   */
+  static final class Accumulator {
+    private final long[] counts = new long[BUCKETS];
+    private long count = 0;
+    private long sum = 0;
+    private long max = 0;
+
+    /**
+     * @return A snapshot of the sum, the accumulator must not be used afterwards.
+     */
+    Snapshot snapshot() {
+      return new Snapshot(counts, count, sum, max);
+    }
+  }
+
+  /**
+   * Immutable copy of the state of a histogram.
+   */
+  public static final class Snapshot {
+    private final static Snapshot EMPTY = new Snapshot(new long[BUCKETS], 0, 0, 0);
+
+    private final long[] counts;
+    private final long count;
+    private final long sum;
+    private final long max;
+
+    private Snapshot(final long[] counts, final long count, final long sum, final long max) {
+      this.counts = counts;
+      this.count = count;
+      this.sum = sum;
+      this.max = max;
+    }
+
+    public static Snapshot empty() {
+      return EMPTY;
+    }
+
+    public long getCount() {
+      return count;
+    }
+
+    public long getMax() {
+      return max;
+    }
+
+    public double getMean() {
+      return count == 0 ? 0 : (double) sum / count;
+    }
+
+    /**
+     * Returns the value below which the given percentage of the recorded values
+     * falls, rounded up to the highest value of the bucket.
+     *
+     * @param percentile The percentile, between 0 and 100.
+     */
+    public long getValueAtPercentile(final double percentile) {
+      if (percentile < 0 || percentile > 100) {
+        throw new IllegalArgumentException("percentile must be between 0 and 100");
+      }
+      if (count == 0) {
+        return 0;
+      }
+
+      final long target = Math.max(1, (long) Math.ceil(count * percentile / 100));
+      long seen = 0;
+
+      for (int i = 0; i < counts.length; ++ i) {
+        seen += counts[i];
+        if (seen >= target) {
+          return Math.min(highestValueOf(i), max);
+        }
+      }
+
+      return max;
+    }
+
+    /**
+     * Combines this snapshot with another, as if all values had been recorded in a
+     * single histogram.
+     */
+    public Snapshot merge(final Snapshot other) {
+      Objects.requireNonNull(other, "other cannot be null");
+
+      final long[] mergedCounts = new long[BUCKETS];
+      for (int i = 0; i < BUCKETS; ++ i) {
+        mergedCounts[i] = counts[i] + other.counts[i];
+      }
+
+      return new Snapshot(mergedCounts, count + other.count, sum + other.sum,
+          Math.max(max, other.max));
+    }
+
+    @Override
+    public String toString() {
+      return "Histogram[count=" + count
+          + ", mean=" + getMean()
+          + ", p50=" + getValueAtPercentile(50)
+          + ", p99=" + getValueAtPercentile(99)
+          + ", max=" + max + "]";
+    }
+  }
+}
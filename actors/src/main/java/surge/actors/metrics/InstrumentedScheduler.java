@@ -0,0 +1,85 @@
+package surge.actors.metrics;
+
+import surge.actors.Path;
+import surge.actors.Scheduler;
+import java.time.Duration;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ScheduledFuture;
+
+/**
+ * Scheduler that attaches metrics collectors to another scheduler. Tasks are passed
+ * to the wrapped scheduler as is, the collectors are used by the mailboxes of the
+ * actors that run on this scheduler. Collectors can be combined, for example to keep
+ * a {@link MetricsRegistry} while flight recorder events are emitted.
+ */
+public class InstrumentedScheduler implements Scheduler {
+
+  private final Scheduler scheduler;
+  private final Optional<MetricsCollector> metrics;
+
+  public InstrumentedScheduler(final Scheduler scheduler, final MetricsCollector metrics) {
+    this.scheduler = Objects.requireNonNull(scheduler, "scheduler cannot be null");
+    this.metrics = Optional.of(Objects.requireNonNull(metrics, "metrics cannot be null"));
+  }
+
+  /**
+   * @param metrics The collectors, every actor is registered with each of them.
+   */
+  public InstrumentedScheduler(final Scheduler scheduler, final MetricsCollector... metrics) {
+    this(scheduler, combine(metrics));
+  }
+
+  private static MetricsCollector combine(final MetricsCollector[] metrics) {
+    Objects.requireNonNull(metrics, "metrics cannot be null");
+
+    if (metrics.length == 0) {
+      throw new IllegalArgumentException("metrics cannot be empty");
+    }
+
+    for (final MetricsCollector collector : metrics) {
+      Objects.requireNonNull(collector, "metrics cannot contain null");
+    }
+    return metrics.length == 1 ? metrics[0] : new CompositeMetricsCollector(metrics.clone());
+  }
+
+  @Override
+  public void schedule(final Runnable runnable) {
+    scheduler.schedule(runnable);
+  }
+
+  @Override
+  public void schedule(final Path path, final Runnable runnable) {
+    scheduler.schedule(path, runnable);
+  }
+
+  @Override
+  public ScheduledFuture<?> schedule(final Runnable runnable, final Duration delay) {
+    return scheduler.schedule(runnable, delay);
+  }
+
+  @Override
+  public int getThroughput() {
+    return scheduler.getThroughput();
+  }
+
+  @Override
+  public Duration getThroughputDeadline() {
+    return scheduler.getThroughputDeadline();
+  }
+
+  @Override
+  public int getMaxHandoffs() {
+    return scheduler.getMaxHandoffs();
+  }
+
+  @Override
+  public int getOutboxCapacity() {
+    return scheduler.getOutboxCapacity();
+  }
+
+  @Override
+  public Optional<MetricsCollector> getMetrics() {
+    return metrics;
+  }
+}
@@ -0,0 +1,23 @@
+package surge.actors.metrics;
+
+import surge.actors.Mailbox;
+import surge.actors.Path;
+
+/**
+ * Service provider interface for collecting actor metrics. A collector is attached to
+ * a scheduler, see {@link InstrumentedScheduler}, and every actor that is spawned on
+ * that scheduler is registered with the collector. Actors that are spawned on a
+ * scheduler without a collector aren't instrumented at all.
+ */
+@FunctionalInterface
+public interface MetricsCollector {
+
+  /**
+   * Registers a newly spawned actor.
+   *
+   * @param path The path of the actor.
+   * @param mailbox The mailbox of the actor, which can be used to sample its size.
+   * @return The recorder for the actor.
+   */
+  ActorMetrics register(Path path, Mailbox mailbox);
+}
@@ -0,0 +1,132 @@
+package surge.actors.metrics;
+
+import surge.actors.Mailbox;
+import surge.actors.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Metrics collector that keeps counters and histograms in memory. Provides snapshots of
+ * individual actors and of all actors together, which are the metrics of the scheduler
+ * the registry is attached to. Actors are removed from the registry when they
+ * terminate.
+ *
+ * Attach a registry of its own to each scheduler that is used as a bulkhead, the
+ * scheduler snapshot then shows whether that scheduler is saturated: drains that are
+ * waiting for a thread and a growing queue delay.
+ */
+public class MetricsRegistry implements MetricsCollector {
+
+  private final static int DRAIN_IDLE = 0;
+  private final static int DRAIN_SCHEDULED = 1;
+  private final static int DRAIN_RUNNING = 2;
+
+  private final ConcurrentHashMap<Path, Recorder> recorders = new ConcurrentHashMap<>();
+
+  @Override
+  public ActorMetrics register(final Path path, final Mailbox mailbox) {
+    Objects.requireNonNull(path, "path cannot be null");
+    Objects.requireNonNull(mailbox, "mailbox cannot be null");
+
+    final Recorder recorder = new Recorder(path, mailbox);
+    recorders.put(path, recorder);
+    return recorder;
+  }
+
+  public Optional<ActorMetricsSnapshot> snapshot(final Path path) {
+    Objects.requireNonNull(path, "path cannot be null");
+
+    return Optional.ofNullable(recorders.get(path)).map(Recorder::snapshot);
+  }
+
+  public List<ActorMetricsSnapshot> snapshotActors() {
+    final List<ActorMetricsSnapshot> snapshots = new ArrayList<>(recorders.size());
+    for (final Recorder recorder : recorders.values()) {
+      snapshots.add(recorder.snapshot());
+    }
+    return snapshots;
+  }
+
+  public SchedulerMetricsSnapshot snapshot() {
+    int actors = 0;
+    long mailboxSize = 0;
+    long failures = 0;
+    int scheduledDrains = 0;
+    int runningDrains = 0;
+    final Histogram.Accumulator queueDelay = new Histogram.Accumulator();
+    final Histogram.Accumulator processingTime = new Histogram.Accumulator();
+
+    for (final Recorder recorder : recorders.values()) {
+      ++ actors;
+      mailboxSize += recorder.mailbox.getNumberOfMessages();
+      failures += recorder.failures.get();
+
+      final int drainState = recorder.drainState;
+      if (drainState == DRAIN_SCHEDULED) {
+        ++ scheduledDrains;
+      } else if (drainState == DRAIN_RUNNING) {
+        ++ runningDrains;
+      }
+      recorder.queueDelay.addTo(queueDelay);
+      recorder.processingTime.addTo(processingTime);
+    }
+
+    return new SchedulerMetricsSnapshot(actors, mailboxSize, failures, scheduledDrains,
+        runningDrains, queueDelay.snapshot(), processingTime.snapshot());
+  }
+
+  private final class Recorder implements ActorMetrics {
+    private final Path path;
+    private final Mailbox mailbox;
+    private final Histogram queueDelay = new Histogram();
+    private final Histogram processingTime = new Histogram();
+    private final AtomicLong failures = new AtomicLong();
+
+    // Scheduling, starting and finishing a drain happen one after the other, possibly
+    // on different threads:
+    private volatile int drainState = DRAIN_IDLE;
+
+    Recorder(final Path path, final Mailbox mailbox) {
+      this.path = path;
+      this.mailbox = mailbox;
+    }
+
+    @Override
+    public void recordScheduled() {
+      drainState = DRAIN_SCHEDULED;
+    }
+
+    @Override
+    public void recordQueueDelay(final long nanos) {
+      drainState = DRAIN_RUNNING;
+      queueDelay.record(nanos);
+    }
+
+    @Override
+    public void recordDrain(final long nanos, final int messages) {
+      drainState = DRAIN_IDLE;
+    }
+
+    @Override
+    public void recordMessage(final long nanos, final boolean failed) {
+      processingTime.record(nanos);
+      if (failed) {
+        failures.lazySet(failures.get() + 1);
+      }
+    }
+
+    @Override
+    public void close() {
+      recorders.remove(path, this);
+    }
+
+    ActorMetricsSnapshot snapshot() {
+      return new ActorMetricsSnapshot(path, mailbox.getNumberOfMessages(), failures.get(),
+          queueDelay.snapshot(), processingTime.snapshot());
+    }
+  }
+}
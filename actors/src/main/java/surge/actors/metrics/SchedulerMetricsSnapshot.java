@@ -0,0 +1,89 @@
+package surge.actors.metrics;
+
+import java.util.Objects;
+
+/**
+ * Metrics of all actors that run on a scheduler, at the time the snapshot was taken.
+ */
+public final class SchedulerMetricsSnapshot {
+  private final int actors;
+  private final long mailboxSize;
+  private final long failures;
+  private final int scheduledDrains;
+  private final int runningDrains;
+  private final Histogram.Snapshot queueDelay;
+  private final Histogram.Snapshot processingTime;
+
+  public SchedulerMetricsSnapshot(final int actors, final long mailboxSize, final long failures,
+      final int scheduledDrains, final int runningDrains, final Histogram.Snapshot queueDelay,
+      final Histogram.Snapshot processingTime) {
+    this.actors = actors;
+    this.mailboxSize = mailboxSize;
+    this.failures = failures;
+    this.scheduledDrains = scheduledDrains;
+    this.runningDrains = runningDrains;
+    this.queueDelay = Objects.requireNonNull(queueDelay, "queueDelay cannot be null");
+    this.processingTime = Objects.requireNonNull(processingTime, "processingTime cannot be null");
+  }
+
+  /**
+   * @return The number of live actors.
+   */
+  public int getActors() {
+    return actors;
+  }
+
+  /**
+   * @return The total number of messages waiting in the mailboxes of the live actors.
+   */
+  public long getMailboxSize() {
+    return mailboxSize;
+  }
+
+  /**
+   * @return The number of messages that have been processed by the live actors.
+   */
+  public long getMessages() {
+    return processingTime.getCount();
+  }
+
+  public long getFailures() {
+    return failures;
+  }
+
+  /**
+   * @return The number of mailboxes that have been scheduled and are waiting for a
+   * thread. A scheduler that has scheduled drains while all its threads are running
+   * drains is saturated.
+   */
+  public int getScheduledDrains() {
+    return scheduledDrains;
+  }
+
+  /**
+   * @return The number of mailboxes that are being drained.
+   */
+  public int getRunningDrains() {
+    return runningDrains;
+  }
+
+  public Histogram.Snapshot getQueueDelay() {
+    return queueDelay;
+  }
+
+  public Histogram.Snapshot getProcessingTime() {
+    return processingTime;
+  }
+
+  @Override
+  public String toString() {
+    return "SchedulerMetrics[actors=" + actors
+        + ", mailboxSize=" + mailboxSize
+        + ", messages=" + getMessages()
+        + ", failures=" + failures
+        + ", scheduledDrains=" + scheduledDrains
+        + ", runningDrains=" + runningDrains
+        + ", queueDelay=" + queueDelay
+        + ", processingTime=" + processingTime + "]";
+  }
+}
@@ -0,0 +1,85 @@
+package surge.actors.receivers;
+
+import surge.actors.Context;
+import surge.actors.MessageContext;
+import surge.actors.ReceiveException;
+import surge.actors.Receiver;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Matching receiver that resolves cases by the concrete class of the message. The
+ * first time a message class is seen, the cases that apply to it are collected in
+ * registration order and cached. Dispatching a message is then a single lookup
+ * followed by the evaluation of the predicates of the cached cases, up to and
+ * including the first case without a predicate.
+ *
+ * The cache is a {@link ClassValue}: lookups don't lock, and the cache doesn't keep
+ * the message classes, or the class loaders that loaded them, from being unloaded.
+ */
+public class CompiledMatchingReceiver extends MatchingReceiver {
+  private final static Case[] NO_CASES = new Case[0];
+
+  private final List<Case> cases;
+  private final Optional<Receiver> self = Optional.of(this);
+  private final ClassValue<Case[]> dispatchTable = new ClassValue<Case[]>() {
+    @Override
+    protected Case[] computeValue(final Class<?> type) {
+      return compile(type);
+    }
+  };
+
+  CompiledMatchingReceiver(final List<Case> cases,
+      final List<Function<Exception, Optional<FailureAction>>> failureHandlers,
+      final Consumer<Context> beforeRestartHandler,
+      final Consumer<Context> afterRestartHandler) {
+    super(new ArrayList<>(), failureHandlers, beforeRestartHandler, afterRestartHandler);
+
+    this.cases = new ArrayList<>(cases);
+  }
+
+  @Override
+  public Optional<Receiver> receive(final Object message, final MessageContext context)
+      throws Exception {
+    final Case[] candidates = dispatchTable.get(message.getClass());
+
+    // Failing predicates are wrapped like failing handlers, as in MatchingReceiver:
+    try {
+      for (final Case c : candidates) {
+        if (c.matches(message)) {
+          final Receiver next = c.receiver.receive(message, context);
+
+          // Most handlers keep the current receiver, avoid allocating an optional
+          // for that case:
+          return next == this ? self : Optional.of(next);
+        }
+      }
+    } catch (ReceiveException e) {
+      throw e;
+    } catch (Exception e) {
+      throw new ReceiveException(e);
+    }
+
+    return Optional.empty();
+  }
+
+  private Case[] compile(final Class<?> cls) {
+    final List<Case> candidates = new ArrayList<>();
+
+    for (final Case c : cases) {
+      if (c.cls.isAssignableFrom(cls)) {
+        candidates.add(c);
+
+        // Cases after an unconditional case can never be reached:
+        if (c.predicate == null) {
+          break;
+        }
+      }
+    }
+
+    return candidates.toArray(NO_CASES);
+  }
+}
@@ -68,19 +68,13 @@ public class MatchingReceiver implements Receiver {
   }
 
   public static class Builder {
-    private final List<OptionalReceiver> receivers = new ArrayList<>();
+    private final List<Case> cases = new ArrayList<>();
     private final List<Function<Exception, Optional<FailureAction>>> failureHandlers = new ArrayList<>();
     private Consumer<Context> beforeRestartHandler = ctx -> { };
     private Consumer<Context> afterRestartHandler = ctx -> { };
 
     public <C> Builder match(final Class<C> cls, final Predicate<C> predicate, final ReceiveMessage<C> receiver) {
-      receivers.add((msg, context) -> {
-        if (cls.isAssignableFrom(msg.getClass()) && predicate.test((C) msg)) {
-          return Optional.of(receiver.receive((C) msg, context));
-        }
-        return Optional.empty();
-      });
-      return this;
+      return addCase(cls, predicate, receiver);
     }
 
     public <C> Builder match(final Class<C> cls, final Predicate<C> predicate, final ReceiveMessageVoid<C> receiver) {
@@ -91,11 +85,14 @@ public class MatchingReceiver implements Receiver {
     }
 
     public <C> Builder match(final Class<C> cls, final ReceiveMessage<C> receiver) {
-      return match(cls, msg -> true, receiver);
+      return addCase(cls, null, receiver);
     }
 
     public <C> Builder match(final Class<C> cls, final ReceiveMessageVoid<C> receiver) {
-      return match(cls, msg -> true, receiver);
+      return match(cls, (ReceiveMessage<C>) (msg, context) -> {
+        receiver.receive(msg, context);
+        return context.getReceiver();
+      });
     }
 
     public Builder matchAny(final ReceiveMessage<Object> receiver) {
@@ -106,13 +103,11 @@ public class MatchingReceiver implements Receiver {
       return match(Object.class, receiver);
     }
 
+    // The receiver is only invoked with messages that equal the object, which are taken
+    // to be of its type:
+    @SuppressWarnings("unchecked")
     public <C> Builder equals(final C obj, final ReceiveMessage<C> receiver) {
-      receivers.add((msg, context) -> {
-        if (msg.equals(obj)) {
-          return Optional.of(receiver.receive((C) msg, context));
-        }
-        return Optional.empty();
-      });
+      cases.add(new Case(Object.class, msg -> msg.equals(obj), (ReceiveMessage<Object>) receiver));
       return this;
     }
 
@@ -146,9 +141,61 @@ public class MatchingReceiver implements Receiver {
       return this;
     }
 
+    // A case only passes messages of its class to the predicate and the receiver, which
+    // makes the casts safe:
+    @SuppressWarnings("unchecked")
+    private <C> Builder addCase(final Class<C> cls, final Predicate<C> predicate,
+        final ReceiveMessage<C> receiver) {
+      cases.add(new Case(cls, (Predicate<Object>) predicate, (ReceiveMessage<Object>) receiver));
+      return this;
+    }
+
     public MatchingReceiver build() {
+      final List<OptionalReceiver> receivers = new ArrayList<>(cases.size());
+      for (final Case c : cases) {
+        receivers.add(c::receive);
+      }
+
       return new MatchingReceiver(receivers, failureHandlers, beforeRestartHandler, afterRestartHandler);
     }
+
+    /**
+     * Builds a receiver that dispatches through a table of cases per message class,
+     * see {@link CompiledMatchingReceiver}. The matching semantics are the same as
+     * those of {@link #build()}.
+     */
+    public MatchingReceiver compile() {
+      return new CompiledMatchingReceiver(cases, failureHandlers, beforeRestartHandler,
+          afterRestartHandler);
+    }
+  }
+
+  /**
+   * A single case registered with the builder: a message type, an optional predicate
+   * and the receiver to invoke if both match.
+   */
+  static final class Case {
+    final Class<?> cls;
+    final Predicate<Object> predicate;
+    final ReceiveMessage<Object> receiver;
+
+    Case(final Class<?> cls, final Predicate<Object> predicate,
+        final ReceiveMessage<Object> receiver) {
+      this.cls = Objects.requireNonNull(cls, "cls cannot be null");
+      this.predicate = predicate;
+      this.receiver = Objects.requireNonNull(receiver, "receiver cannot be null");
+    }
+
+    boolean matches(final Object msg) {
+      return predicate == null || predicate.test(msg);
+    }
+
+    Optional<Receiver> receive(final Object msg, final MessageContext context) throws Exception {
+      if (cls.isAssignableFrom(msg.getClass()) && matches(msg)) {
+        return Optional.of(receiver.receive(msg, context));
+      }
+      return Optional.empty();
+    }
   }
 
   @FunctionalInterface
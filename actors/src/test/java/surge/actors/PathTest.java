@@ -0,0 +1,43 @@
+package surge.actors;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertSame;
+
+import java.util.stream.Collectors;
+import org.junit.Test;
+
+public class PathTest {
+
+  @Test
+  public void testParse() {
+    final Path path = Path.parse("a/b/c");
+
+    assertEquals("c", path.getName());
+    assertEquals(3, path.getDepth());
+    assertEquals("a/b/c", path.getFullName());
+    assertEquals("a,b,c", path.getElements().collect(Collectors.joining(",")));
+    assertEquals(Path.of(Path.of(Path.of("a"), "b"), "c"), path);
+    assertEquals(Path.of(Path.of(Path.of("a"), "b"), "c").hashCode(), path.hashCode());
+  }
+
+  @Test
+  public void testIntern() {
+    final Path path = Path.of(Path.of(Path.of("x"), "y"), "z");
+    final Path interned = path.intern();
+
+    assertSame(interned, Path.parse("x/y/z"));
+    assertSame(interned, Path.of(Path.of(Path.of("x"), "y"), "z").intern());
+    assertSame(interned.getParent().get(), Path.parse("x/y"));
+    assertEquals(path, interned);
+  }
+
+  @Test
+  public void testNotEqual() {
+    assertNotEquals(Path.parse("a/b"), Path.parse("a/c"));
+    assertNotEquals(Path.parse("a/b"), Path.parse("b/b"));
+    assertNotEquals(Path.of("a"), Path.of(Path.of("a"), "a"));
+    assertFalse(Path.parse("a/b").equals(Path.parse("a")));
+  }
+}
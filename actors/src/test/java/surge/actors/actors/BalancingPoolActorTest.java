@@ -0,0 +1,177 @@
+package surge.actors.actors;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.Test;
+import surge.actors.Actor;
+import surge.actors.LifecycleListener;
+import surge.actors.Message;
+import surge.actors.MessageContext;
+import surge.actors.Receiver;
+import surge.actors.dispatchers.ExecutorServiceScheduler;
+import surge.actors.mailboxes.DefaultMailbox;
+import surge.actors.messages.Kill;
+import surge.actors.test.ManualScheduler;
+import surge.actors.test.ProbeActor;
+
+public class BalancingPoolActorTest {
+
+  private final ProbeActor sender = new ProbeActor();
+
+  @Test
+  public void testIdleWorkerTakesWaitingMessages() throws Exception {
+    final ExecutorService executor = Executors.newFixedThreadPool(2);
+    final ScheduledExecutorService timer = Executors.newSingleThreadScheduledExecutor();
+    final CountDownLatch slowStarted = new CountDownLatch(1);
+    final CountDownLatch releaseSlow = new CountDownLatch(1);
+    final CountDownLatch fastHandled = new CountDownLatch(10);
+    final Set<String> fastWorkers = ConcurrentHashMap.newKeySet();
+    final AtomicReference<String> slowWorker = new AtomicReference<>();
+
+    try {
+      final BalancingPoolActor pool = new LocalActorFactory(
+          new ExecutorServiceScheduler(executor, timer)
+      ).spawnBalancingPool(context -> Receiver.builder()
+          .equals("slow", (String msg, MessageContext ctx) -> {
+            slowWorker.set(ctx.getSelf().getPath().getName());
+            slowStarted.countDown();
+            releaseSlow.await();
+          })
+          .equals("fast", (String msg, MessageContext ctx) -> {
+            fastWorkers.add(ctx.getSelf().getPath().getName());
+            fastHandled.countDown();
+          })
+          .build(), "pool", 2);
+
+      pool.tell("slow", sender);
+      assertTrue(slowStarted.await(5, TimeUnit.SECONDS));
+      for (int i = 0; i < 10; ++ i) {
+        pool.tell("fast", sender);
+      }
+
+      // The other worker handles all messages while the first one is busy:
+      assertTrue(fastHandled.await(5, TimeUnit.SECONDS));
+      assertEquals(1, fastWorkers.size());
+      assertFalse(fastWorkers.contains(slowWorker.get()));
+      assertEquals(0, pool.getNumberOfMessages());
+    } finally {
+      releaseSlow.countDown();
+      executor.shutdown();
+      timer.shutdown();
+    }
+  }
+
+  @Test
+  public void testLastWorkerDiscardsSharedQueue() {
+    final ManualScheduler scheduler = new ManualScheduler();
+    final List<Object> deadLetters = new ArrayList<>();
+    final LifecycleListener listener = new LifecycleListener() {
+      @Override
+      public void deadLetter(final Actor actor, final Message message) {
+        if (message.getPayload() instanceof String) {
+          deadLetters.add(message.getPayload());
+        }
+      }
+    };
+
+    final BalancingPoolActor pool = new LocalActorFactory(scheduler, DefaultMailbox::new, listener)
+        .spawnBalancingPool(context -> Receiver.builder().build(), "pool", 2);
+    scheduler.runPending();
+
+    // The workers are killed before they get to the messages in the shared queue:
+    pool.tell(new Kill(), sender);
+    pool.tell("a", sender);
+    pool.tell("b", sender);
+    scheduler.runPending();
+    assertEquals(Arrays.asList("a", "b"), deadLetters);
+
+    pool.tell("c", sender);
+    assertEquals(Arrays.asList("a", "b", "c"), deadLetters);
+  }
+
+  @Test
+  public void testWorkerCountsOwnMessages() {
+    final ManualScheduler scheduler = new ManualScheduler();
+    final AtomicReference<LocalActor> worker = new AtomicReference<>();
+
+    final BalancingPoolActor pool = new LocalActorFactory(scheduler).spawnBalancingPool(
+        context -> Receiver.builder()
+            .matchAny((msg, ctx) -> {
+              worker.set((LocalActor) ctx.getSelf());
+            })
+            .build(), "pool", 1);
+    scheduler.runPending();
+
+    for (int i = 0; i < 3; ++ i) {
+      pool.tell("shared", sender);
+    }
+    scheduler.runPending();
+
+    // Messages from the shared queue don't reduce the count of the worker's own messages:
+    worker.get().tell("own", sender);
+    worker.get().tell("own", sender);
+    assertEquals(2, worker.get().getNumberOfMessages());
+
+    scheduler.runPending();
+    assertEquals(0, worker.get().getNumberOfMessages());
+  }
+
+  @Test
+  public void testMessagesSentWhileWorkersTerminate() throws Exception {
+    final ExecutorService executor = Executors.newFixedThreadPool(2);
+    final ScheduledExecutorService timer = Executors.newSingleThreadScheduledExecutor();
+    final AtomicInteger handled = new AtomicInteger();
+    final AtomicInteger deadLetters = new AtomicInteger();
+    final LifecycleListener listener = new LifecycleListener() {
+      @Override
+      public void deadLetter(final Actor actor, final Message message) {
+        if (message.getPayload() instanceof Integer) {
+          deadLetters.incrementAndGet();
+        }
+      }
+    };
+
+    try {
+      final BalancingPoolActor pool = new LocalActorFactory(
+          new ExecutorServiceScheduler(executor, timer), DefaultMailbox::new, listener
+      ).spawnBalancingPool(context -> Receiver.builder()
+          .matchAny((msg, ctx) -> {
+            handled.incrementAndGet();
+          })
+          .build(), "pool", 2);
+
+      // Keep sending while the workers terminate, every message is either handled or
+      // becomes a dead letter:
+      final int count = 100_000;
+      for (int i = 0; i < count; ++ i) {
+        if (i == count / 2) {
+          pool.tell(new Kill(), sender);
+        }
+        pool.tell(i, sender);
+      }
+
+      final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+      while (handled.get() + deadLetters.get() < count && System.nanoTime() < deadline) {
+        Thread.sleep(1);
+      }
+      assertEquals(count, handled.get() + deadLetters.get());
+    } finally {
+      executor.shutdown();
+      timer.shutdown();
+    }
+  }
+}
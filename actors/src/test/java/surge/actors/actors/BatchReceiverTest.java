@@ -0,0 +1,140 @@
+package surge.actors.actors;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.Test;
+import surge.actors.Actor;
+import surge.actors.BatchException;
+import surge.actors.BatchReceiver;
+import surge.actors.Context;
+import surge.actors.Message;
+import surge.actors.MessageContext;
+import surge.actors.PrivateContext;
+import surge.actors.Receiver;
+import surge.actors.Receiver.FailureAction;
+import surge.actors.SpawnOptions;
+import surge.actors.test.ManualScheduler;
+import surge.actors.test.ProbeActor;
+
+public class BatchReceiverTest {
+
+  private final ManualScheduler scheduler = new ManualScheduler();
+  private final ProbeActor sender = new ProbeActor();
+  private final RecordingReceiver receiver = new RecordingReceiver();
+
+  @Test
+  public void testWaitingMessagesFormBatch() {
+    final LocalActor actor = new LocalActorFactory(scheduler).spawn(context -> receiver, "batch");
+    scheduler.runPending();
+
+    actor.tell(1, sender);
+    actor.tell(2, sender);
+    actor.tell(3, sender);
+    scheduler.runPending();
+
+    assertEquals(Arrays.asList(Arrays.asList(1, 2, 3)), receiver.batches);
+    assertSame(sender, receiver.senders.get(0));
+  }
+
+  @Test
+  public void testReceiverGetsPlainContext() {
+    final LocalActor actor = new LocalActorFactory(scheduler).spawn(context -> receiver, "batch");
+    scheduler.runPending();
+
+    actor.tell(1, sender);
+    scheduler.runPending();
+
+    // The receiver can't reach the methods of the context that the mailbox uses:
+    assertFalse(receiver.context instanceof PrivateContext);
+    assertSame(actor, receiver.context.getSelf());
+  }
+
+  @Test
+  public void testMessagesAfterFailureAreDeliveredAgain() {
+    // The supervisor resumes the failed actor:
+    final AtomicReference<Actor> child = new AtomicReference<>();
+    new LocalActorFactory(scheduler).spawn(context -> {
+      child.set(context.spawn(childContext -> receiver, "batch", SpawnOptions.defaults()));
+      return Receiver.builder()
+          .onFailure(FailureAction.RESUME)
+          .build();
+    }, "supervisor");
+    scheduler.runPending();
+
+    final Actor actor = child.get();
+
+    actor.tell(1, sender);
+    actor.tell("fail", sender);
+    actor.tell(3, sender);
+    scheduler.runPending();
+
+    assertEquals(Arrays.asList(Arrays.asList(1, "fail", 3), Arrays.asList(3)), receiver.batches);
+  }
+
+  @Test
+  public void testSingleMessageIsBatchOfOne() {
+    final LocalActor actor = new LocalActorFactory(scheduler).spawn(context -> Receiver.builder()
+        .matchAny((Object msg, MessageContext ctx) -> {
+          receiver.receive(msg, ctx);
+        })
+        .build(), "single");
+    scheduler.runPending();
+
+    actor.tell(1, sender);
+    scheduler.runPending();
+
+    assertEquals(Arrays.asList(Arrays.asList(1)), receiver.batches);
+    assertSame(sender, receiver.senders.get(0));
+  }
+
+  private static class RecordingReceiver implements BatchReceiver {
+    private final List<List<Object>> batches = new ArrayList<>();
+    private final List<Object> senders = new ArrayList<>();
+    private Context context = null;
+
+    @Override
+    public int getMaxBatchSize() {
+      return 16;
+    }
+
+    @Override
+    public Optional<Receiver> receiveAll(final List<Message> messages, final Context context)
+        throws Exception {
+      this.context = context;
+
+      final List<Object> batch = new ArrayList<>();
+      batches.add(batch);
+      for (final Message message : messages) {
+        batch.add(message.getPayload());
+        senders.add(message.getSender());
+      }
+
+      for (int i = 0; i < messages.size(); ++ i) {
+        if ("fail".equals(messages.get(i).getPayload())) {
+          throw new BatchException(i, new IllegalStateException("failed"));
+        }
+      }
+      return Optional.empty();
+    }
+
+    @Override
+    public Optional<FailureAction> handleFailure(final Exception cause) {
+      return Optional.empty();
+    }
+
+    @Override
+    public void beforeRestart(final Context context) {
+    }
+
+    @Override
+    public void afterRestart(final Context context) {
+    }
+  }
+}
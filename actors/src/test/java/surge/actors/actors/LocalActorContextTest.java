@@ -0,0 +1,147 @@
+package surge.actors.actors;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.Test;
+import surge.actors.MessageContext;
+import surge.actors.Receiver;
+import surge.actors.messages.ReceiveTimeout;
+import surge.actors.test.ManualScheduler;
+import surge.actors.test.ProbeActor;
+
+public class LocalActorContextTest {
+
+  private final ManualScheduler scheduler = new ManualScheduler();
+  private final ProbeActor sender = new ProbeActor();
+
+  @Test
+  public void testMessageContextOutsideDispatch() {
+    final AtomicReference<MessageContext> shared = new AtomicReference<>();
+    final AtomicReference<MessageContext> captured = new AtomicReference<>();
+
+    final LocalActor actor = new LocalActorFactory(scheduler).spawn(context -> Receiver.builder()
+        .matchAny((msg, ctx) -> {
+          shared.set(ctx);
+          captured.set(ctx.capture());
+        })
+        .build(), "actor");
+    actor.tell("message", sender);
+    scheduler.runPending();
+
+    // The captured context keeps the sender, the shared context has been reused:
+    assertSame(sender, captured.get().getSender());
+    assertSame(actor, captured.get().getSelf());
+    try {
+      shared.get().getSender();
+      fail("Expected an IllegalStateException");
+    } catch (IllegalStateException e) {
+      // Expected.
+    }
+  }
+
+  @Test
+  public void testReceiveTimeout() throws InterruptedException {
+    final ProbeActor probe = new ProbeActor();
+    final LocalActor actor = spawnTimeoutActor(probe);
+
+    actor.tell(Duration.ofMillis(20), sender);
+    scheduler.runPending();
+    assertEquals(1, scheduler.getNumberOfDelayedTasks());
+
+    // The timer fires once the actor has been idle for the duration of the timeout:
+    Thread.sleep(30);
+    assertEquals(1, scheduler.runDelayed());
+    scheduler.runPending();
+    probe.assertMessage(ReceiveTimeout.class);
+    assertSame(actor, probe.getLastSender());
+
+    // The timeout fires once, until it is set again:
+    assertEquals(0, scheduler.getNumberOfDelayedTasks());
+  }
+
+  @Test
+  public void testReceiveTimeoutResetByMessages() throws InterruptedException {
+    final ProbeActor probe = new ProbeActor();
+    final LocalActor actor = spawnTimeoutActor(probe);
+
+    actor.tell(Duration.ofMillis(50), sender);
+    actor.tell("a", sender);
+    actor.tell("b", sender);
+    scheduler.runPending();
+
+    // Messages move the deadline without scheduling timers:
+    assertEquals(1, scheduler.getNumberOfDelayedTasks());
+
+    // A timer that fires before the deadline reschedules itself for the remaining time:
+    assertEquals(1, scheduler.runDelayed());
+    assertEquals(1, scheduler.getNumberOfDelayedTasks());
+    scheduler.runPending();
+    assertEquals("a", probe.assertMessage(String.class));
+    assertEquals("b", probe.assertMessage(String.class));
+    probe.assertNoMessages();
+
+    Thread.sleep(60);
+    assertEquals(1, scheduler.runDelayed());
+    scheduler.runPending();
+    probe.assertMessage(ReceiveTimeout.class);
+  }
+
+  @Test
+  public void testCancelledReceiveTimeout() throws InterruptedException {
+    final ProbeActor probe = new ProbeActor();
+    final LocalActor actor = spawnTimeoutActor(probe);
+
+    actor.tell(Duration.ofMillis(50), sender);
+    actor.tell("a", sender);
+    scheduler.runPending();
+
+    // Reschedule the timer, the context doesn't keep the future of the rescheduled timer:
+    assertEquals(1, scheduler.runDelayed());
+
+    // Cancelling the timeout invalidates the generation of the rescheduled timer:
+    actor.tell(Duration.ZERO, sender);
+    scheduler.runPending();
+
+    Thread.sleep(60);
+    assertEquals(1, scheduler.runDelayed());
+    assertEquals(0, scheduler.runPending());
+    assertEquals("a", probe.assertMessage(String.class));
+    probe.assertNoMessages();
+  }
+
+  @Test
+  public void testReplacedReceiveTimeout() throws InterruptedException {
+    final ProbeActor probe = new ProbeActor();
+    final LocalActor actor = spawnTimeoutActor(probe);
+
+    actor.tell(Duration.ofMillis(20), sender);
+    actor.tell(Duration.ofSeconds(10), sender);
+    scheduler.runPending();
+
+    // Only the timer of the last timeout is active, and its deadline is far away:
+    assertEquals(1, scheduler.getNumberOfDelayedTasks());
+    Thread.sleep(30);
+    assertEquals(1, scheduler.runDelayed());
+    assertEquals(0, scheduler.runPending());
+    probe.assertNoMessages();
+  }
+
+  /**
+   * Spawns an actor that sets its receive timeout when it receives a duration, and
+   * forwards all other messages to the probe.
+   */
+  private LocalActor spawnTimeoutActor(final ProbeActor probe) {
+    return new LocalActorFactory(scheduler).spawn(context -> Receiver.builder()
+        .match(Duration.class, (timeout, ctx) -> {
+          ctx.setReceiveTimeout(timeout);
+        })
+        .matchAny((msg, ctx) -> {
+          probe.tell(msg, ctx.getSender());
+        })
+        .build(), "actor");
+  }
+}
@@ -0,0 +1,99 @@
+package surge.actors.actors;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.junit.Test;
+import surge.actors.Actor;
+import surge.actors.Context;
+import surge.actors.Path;
+import surge.actors.Receiver;
+import surge.actors.Scheduler;
+import surge.actors.SpawnOptions;
+import surge.actors.test.ManualScheduler;
+import surge.actors.test.ProbeActor;
+
+public class LocalActorFactoryTest {
+
+  private final ManualScheduler scheduler = new ManualScheduler();
+  private final ManualScheduler ownScheduler = new ManualScheduler();
+  private final ProbeActor sender = new ProbeActor();
+  private final Map<String, Scheduler> schedulers = new ConcurrentHashMap<>();
+  private final List<String> received = new ArrayList<>();
+
+  @Test
+  public void testSpawnOnOwnScheduler() {
+    final LocalActorFactory factory = new LocalActorFactory(scheduler);
+    final List<Actor> descendants = new ArrayList<>();
+
+    // The grandchild is spawned by the child, without options:
+    final LocalActor actor = factory.spawn(context -> {
+      descendants.add(context.spawn(childContext -> {
+        descendants.add(childContext.spawn(
+            grandchildContext -> recorder(grandchildContext, "grandchild"), "grandchild",
+            SpawnOptions.defaults()));
+        return recorder(childContext, "child");
+      }, "child", SpawnOptions.defaults()));
+      return recorder(context, "actor");
+    }, "actor", SpawnOptions.builder().scheduler(ownScheduler).build());
+
+    actor.tell("message", sender);
+    for (final Actor descendant : descendants) {
+      descendant.tell("message", sender);
+    }
+
+    // The actor and its descendants only run on their own scheduler:
+    assertEquals(0, scheduler.getNumberOfPendingTasks());
+    ownScheduler.runPending();
+    assertEquals(3, received.size());
+    assertEquals(0, scheduler.getNumberOfPendingTasks());
+
+    assertEquals(3, schedulers.size());
+    for (final Scheduler actorScheduler : schedulers.values()) {
+      assertSame(ownScheduler, actorScheduler);
+    }
+  }
+
+  @Test
+  public void testSpawnOnParentScheduler() {
+    final LocalActorFactory factory = new LocalActorFactory(scheduler);
+    final LocalActor actor = factory.spawn(context -> recorder(context, "actor"), "actor");
+
+    actor.tell("message", sender);
+    assertEquals(0, ownScheduler.runPending());
+    scheduler.runPending();
+
+    assertEquals(1, received.size());
+    assertSame(scheduler, schedulers.get("actor"));
+  }
+
+  @Test
+  public void testPathsAreInterned() {
+    final LocalActorFactory factory = new LocalActorFactory(scheduler);
+    final List<Actor> children = new ArrayList<>();
+    final LocalActor actor = factory.spawn(context -> {
+      children.add(context.spawn(childContext -> recorder(childContext, "child"), "child",
+          SpawnOptions.defaults()));
+      return recorder(context, "actor");
+    }, "actor");
+
+    final Path childPath = children.get(0).getPath();
+    assertSame(actor.getPath(), actor.getPath().intern());
+    assertSame(actor.getPath(), childPath.getParent().get());
+    assertSame(childPath, Path.parse("actor/child"));
+  }
+
+  private Receiver recorder(final Context context, final String name) {
+    schedulers.put(name, context.getScheduler());
+
+    return Receiver.builder()
+        .matchAny((msg, ctx) -> {
+          received.add(name);
+        })
+        .build();
+  }
+}
@@ -0,0 +1,93 @@
+package surge.actors.actors;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeoutException;
+import org.junit.Test;
+import surge.actors.test.ManualScheduler;
+import surge.actors.test.ProbeActor;
+
+public class PromiseActorTest {
+
+  private final ManualScheduler scheduler = new ManualScheduler();
+  private final ProbeActor parent = new ProbeActor();
+  private final ProbeActor target = new ProbeActor();
+
+  @Test
+  public void testReply() throws Exception {
+    final CompletableFuture<Object> future = PromiseActor.ask(
+        parent, scheduler, target, "question", Duration.ofSeconds(1)).toCompletableFuture();
+
+    assertEquals("question", target.assertMessage(String.class));
+    assertFalse(future.isDone());
+    assertEquals(1, scheduler.getNumberOfDelayedTasks());
+
+    // The reply completes the future on the thread of the sender and cancels the timer:
+    target.reply("answer");
+    assertEquals("answer", future.get());
+    assertEquals(0, scheduler.getNumberOfDelayedTasks());
+  }
+
+  @Test
+  public void testOnlyFirstReply() throws Exception {
+    final CompletableFuture<Object> future = PromiseActor.ask(
+        parent, scheduler, target, "question", Duration.ofSeconds(1)).toCompletableFuture();
+    target.assertMessage(String.class);
+    final PromiseActor promise = (PromiseActor) target.getLastSender();
+
+    assertTrue(promise.tryTell("first", target));
+    assertFalse(promise.tryTell("second", target));
+    assertEquals("first", future.get());
+  }
+
+  @Test
+  public void testTimeout() throws Exception {
+    final CompletableFuture<Object> future = PromiseActor.ask(
+        parent, scheduler, target, "question", Duration.ofSeconds(1)).toCompletableFuture();
+    target.assertMessage(String.class);
+
+    assertEquals(1, scheduler.runDelayed());
+    assertTimedOut(future);
+  }
+
+  @Test
+  public void testLateReply() throws Exception {
+    final CompletableFuture<Object> future = PromiseActor.ask(
+        parent, scheduler, target, "question", Duration.ofSeconds(1)).toCompletableFuture();
+    target.assertMessage(String.class);
+    final PromiseActor promise = (PromiseActor) target.getLastSender();
+    scheduler.runDelayed();
+
+    // A reply after the timeout is ignored, the promise holds on to nothing else:
+    assertFalse(promise.tryTell("answer", target));
+    promise.tell("answer", target);
+    assertTimedOut(future);
+    assertEquals(0, scheduler.getNumberOfDelayedTasks());
+    assertEquals(0, scheduler.getNumberOfPendingTasks());
+  }
+
+  @Test
+  public void testPath() {
+    PromiseActor.ask(parent, scheduler, target, "question", Duration.ofSeconds(1));
+    target.assertMessage(String.class);
+
+    assertEquals(Optional.of(parent.getPath()), target.getLastSender().getPath().getParent());
+  }
+
+  private static void assertTimedOut(final CompletableFuture<Object> future)
+      throws InterruptedException {
+    try {
+      future.get();
+      fail("Expected the ask to time out");
+    } catch (ExecutionException e) {
+      assertTrue(e.getCause() instanceof TimeoutException);
+    }
+  }
+}
@@ -0,0 +1,68 @@
+package surge.actors.actors;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.Test;
+import surge.actors.MessageContext;
+import surge.actors.Receiver;
+import surge.actors.Receiver.FailureAction;
+import surge.actors.test.ManualScheduler;
+import surge.actors.test.ProbeActor;
+
+public class RouterActorTest {
+
+  private final ManualScheduler scheduler = new ManualScheduler();
+  private final ProbeActor sender = new ProbeActor();
+  private final List<String> received = new ArrayList<>();
+
+  @Test
+  public void testRoutesAfterSupervisorRestart() {
+    final AtomicReference<RouterActor> router = new AtomicReference<>();
+
+    // Failing routees escalate to the supervisor, whose parent restarts it:
+    new LocalActorFactory(scheduler).spawn(context -> {
+      router.set(((LocalActorContext) context).spawnRouter(routee -> routee(), "router", 2,
+          RoutingStrategy.roundRobin(), cause -> FailureAction.ESCALATE));
+      return Receiver.builder().build();
+    }, "parent");
+    scheduler.runPending();
+
+    router.get().tell("message", sender);
+    router.get().tell("message", sender);
+    scheduler.runPending();
+    assertEquals(Arrays.asList("routee-0", "routee-1"), received());
+
+    router.get().tell("fail", sender);
+    scheduler.runPending();
+    assertEquals(2, router.get().getSize());
+
+    // The new routees don't reuse the names of the old ones:
+    router.get().tell("message", sender);
+    router.get().tell("message", sender);
+    scheduler.runPending();
+    assertEquals(Arrays.asList("routee-2", "routee-3"), received());
+  }
+
+  private Receiver routee() {
+    return Receiver.builder()
+        .equals("fail", (String msg, MessageContext context) -> {
+          throw new IllegalStateException("routee failed");
+        })
+        .matchAny((msg, context) -> {
+          received.add(context.getSelf().getPath().getName());
+        })
+        .build();
+  }
+
+  private List<String> received() {
+    final List<String> names = new ArrayList<>(received);
+    received.clear();
+    Collections.sort(names);
+    return names;
+  }
+}
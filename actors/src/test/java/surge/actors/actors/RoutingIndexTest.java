@@ -0,0 +1,102 @@
+package surge.actors.actors;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.Before;
+import org.junit.Test;
+import surge.actors.Actor;
+import surge.actors.Filter;
+import surge.actors.Receiver;
+import surge.actors.messages.Stop;
+import surge.actors.test.ManualScheduler;
+import surge.actors.test.ProbeActor;
+
+public class RoutingIndexTest {
+
+  private final ManualScheduler scheduler = new ManualScheduler();
+  private final ProbeActor sender = new ProbeActor();
+  private final List<String> received = new ArrayList<>();
+  private LocalActor root;
+
+  /**
+   * Spawns the tree root -> (a -> (c), b).
+   */
+  @Before
+  public void spawnTree() {
+    final LocalActorFactory factory = new LocalActorFactory(scheduler);
+
+    root = factory.spawn(context -> {
+      context.spawn(a -> {
+        a.spawn(c -> receiver("c"), "c");
+        return receiver("a");
+      }, "a");
+      context.spawn(b -> receiver("b"), "b");
+      return receiver("root");
+    }, "root");
+    scheduler.runPending();
+  }
+
+  @Test
+  public void testDescendants() {
+    assertEquals(Arrays.asList("a", "b", "c"), publish("#"));
+  }
+
+  @Test
+  public void testChildren() {
+    assertEquals(Arrays.asList("a", "b"), publish("+"));
+    assertEquals(Arrays.asList("c"), publish("+/+"));
+    assertEquals(Arrays.asList("c"), publish("+/#"));
+  }
+
+  @Test
+  public void testNames() {
+    assertEquals(Arrays.asList("a"), publish("a"));
+    assertEquals(Arrays.asList("c"), publish("a/c"));
+    assertEquals(Collections.emptyList(), publish("b/c"));
+  }
+
+  @Test
+  public void testRespawnBeforeOldActorStops() {
+    final AtomicReference<Actor> oldChild = new AtomicReference<>();
+    final LocalActor parent = new LocalActorFactory(scheduler).spawn(context -> {
+      oldChild.set(context.spawn(x -> receiver("old x"), "x"));
+      return Receiver.builder()
+          .equals("respawn", (msg, ctx) -> {
+            // The old actor only unregisters once it handles the stop message:
+            oldChild.get().tell(new Stop(), ctx.getSelf());
+            context.spawn(x -> receiver("new x"), "x");
+          })
+          .build();
+    }, "parent");
+    parent.tell("respawn", sender);
+    scheduler.runPending();
+
+    received.clear();
+    parent.publish(Filter.of("x"), "message", sender);
+    scheduler.runPending();
+    assertEquals(Arrays.asList("new x"), received);
+  }
+
+  private List<String> publish(final String filter) {
+    received.clear();
+    root.publish(Filter.of(filter), "message", sender);
+    scheduler.runPending();
+
+    final List<String> names = new ArrayList<>(received);
+    Collections.sort(names);
+    return names;
+  }
+
+  private Receiver receiver(final String name) {
+    return Receiver.builder()
+        .equals("message", (msg, context) -> {
+          received.add(name);
+        })
+        .build();
+  }
+}
@@ -0,0 +1,97 @@
+package surge.actors.actors;
+
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.ScheduledFuture;
+import org.junit.Test;
+import surge.actors.Mailbox;
+import surge.actors.Message;
+import surge.actors.Path;
+import surge.actors.Scheduler;
+
+public class RoutingStrategyTest {
+
+  @Test
+  public void testRoundRobin() {
+    final LocalActor[] routees = routees(3);
+    final RoutingStrategy strategy = RoutingStrategy.roundRobin();
+
+    for (int i = 0; i < 9; ++ i) {
+      assertSame(routees[i % 3], strategy.select("message", routees));
+    }
+  }
+
+  @Test
+  public void testSmallestMailbox() {
+    final LocalActor[] routees = new LocalActor[] {
+        routee("a", 3), routee("b", 1), routee("c", 2)
+    };
+
+    assertSame(routees[1], RoutingStrategy.smallestMailbox().select("message", routees));
+  }
+
+  @Test
+  public void testConsistentHash() {
+    final RoutingStrategy strategy = RoutingStrategy.consistentHash(message -> message);
+    final LocalActor[] routees = routees(4);
+    final LocalActor[] assigned = new LocalActor[1000];
+
+    for (int i = 0; i < assigned.length; ++ i) {
+      assigned[i] = strategy.select(i, routees);
+      assertSame(assigned[i], strategy.select(i, routees));
+    }
+
+    // Adding a routee only moves the keys it takes over:
+    final LocalActor[] resized = Arrays.copyOf(routees, 5);
+    resized[4] = routee("routee-4", 0);
+
+    int moved = 0;
+    for (int i = 0; i < assigned.length; ++ i) {
+      final LocalActor routee = strategy.select(i, resized);
+      if (routee != assigned[i]) {
+        assertSame(resized[4], routee);
+        ++ moved;
+      }
+    }
+
+    assertTrue("moved " + moved, moved > 0 && moved < assigned.length / 2);
+  }
+
+  private static LocalActor[] routees(final int count) {
+    final LocalActor[] routees = new LocalActor[count];
+    for (int i = 0; i < count; ++ i) {
+      routees[i] = routee("routee-" + i, 0);
+    }
+    return routees;
+  }
+
+  private static LocalActor routee(final String name, final int numberOfMessages) {
+    return new LocalActor(Path.of(Path.of("router"), name), new Mailbox() {
+      @Override
+      public boolean enqueue(final Message message) {
+        return true;
+      }
+
+      @Override
+      public void enqueueSystemMessage(final Message message) {
+      }
+
+      @Override
+      public int getNumberOfMessages() {
+        return numberOfMessages;
+      }
+    }, new Scheduler() {
+      @Override
+      public void schedule(final Runnable runnable) {
+      }
+
+      @Override
+      public ScheduledFuture<?> schedule(final Runnable runnable, final Duration delay) {
+        return null;
+      }
+    });
+  }
+}
@@ -0,0 +1,54 @@
+package surge.actors.dispatchers;
+
+import static org.junit.Assert.assertEquals;
+
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import org.junit.After;
+import org.junit.Test;
+
+public class ExecutorServiceSchedulerTest {
+
+  private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor();
+
+  @After
+  public void shutdown() {
+    executor.shutdownNow();
+  }
+
+  @Test
+  public void testDefaults() {
+    final ExecutorServiceScheduler scheduler = new ExecutorServiceScheduler(executor, executor);
+
+    assertEquals(Integer.MAX_VALUE, scheduler.getThroughput());
+    assertEquals(Duration.ZERO, scheduler.getThroughputDeadline());
+    assertEquals(0, scheduler.getMaxHandoffs());
+    assertEquals(0, scheduler.getOutboxCapacity());
+  }
+
+  @Test
+  public void testBuilder() {
+    final ExecutorServiceScheduler scheduler = ExecutorServiceScheduler.builder(executor, executor)
+        .throughput(100)
+        .throughputDeadline(Duration.ofMillis(5))
+        .maxHandoffs(4)
+        .outboxCapacity(64)
+        .build();
+
+    assertEquals(100, scheduler.getThroughput());
+    assertEquals(Duration.ofMillis(5), scheduler.getThroughputDeadline());
+    assertEquals(4, scheduler.getMaxHandoffs());
+    assertEquals(64, scheduler.getOutboxCapacity());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testThroughputMustBePositive() {
+    ExecutorServiceScheduler.builder(executor, executor).throughput(0);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testMaxHandoffsCannotBeNegative() {
+    ExecutorServiceScheduler.builder(executor, executor).maxHandoffs(-1);
+  }
+}
@@ -0,0 +1,122 @@
+package surge.actors.dispatchers;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import org.junit.After;
+import org.junit.Test;
+
+public class HashedWheelSchedulerTest {
+
+  private final ExecutorService executor = Executors.newSingleThreadExecutor();
+  private HashedWheelScheduler scheduler;
+
+  @After
+  public void shutdown() {
+    if (scheduler != null) {
+      scheduler.shutdown();
+    }
+    executor.shutdownNow();
+  }
+
+  @Test
+  public void testDelay() throws InterruptedException {
+    scheduler = new HashedWheelScheduler(executor, Duration.ofMillis(1), 64);
+
+    final CountDownLatch latch = new CountDownLatch(1);
+    final long start = System.nanoTime();
+    scheduler.schedule(latch::countDown, Duration.ofMillis(50));
+
+    assertTrue(latch.await(5, TimeUnit.SECONDS));
+
+    // The task never runs early, and runs within a few ticks after its delay:
+    final long elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+    assertTrue("ran after " + elapsed + "ms", elapsed >= 50);
+    assertTrue("ran after " + elapsed + "ms", elapsed < 1_000);
+  }
+
+  @Test
+  public void testZeroDelay() throws InterruptedException {
+    scheduler = new HashedWheelScheduler(executor, Duration.ofMillis(1), 64);
+
+    final CountDownLatch latch = new CountDownLatch(1);
+    scheduler.schedule(latch::countDown, Duration.ZERO);
+
+    assertTrue(latch.await(5, TimeUnit.SECONDS));
+  }
+
+  @Test
+  public void testMultipleRounds() throws InterruptedException {
+    // The wheel covers 40ms, the delay takes several rounds:
+    scheduler = new HashedWheelScheduler(executor, Duration.ofMillis(5), 8);
+
+    final CountDownLatch latch = new CountDownLatch(1);
+    final long start = System.nanoTime();
+    scheduler.schedule(latch::countDown, Duration.ofMillis(150));
+
+    assertTrue(latch.await(5, TimeUnit.SECONDS));
+
+    final long elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+    assertTrue("ran after " + elapsed + "ms", elapsed >= 150);
+  }
+
+  @Test
+  public void testOrder() throws InterruptedException {
+    scheduler = new HashedWheelScheduler(executor, Duration.ofMillis(1), 16);
+
+    final CountDownLatch first = new CountDownLatch(1);
+    final CountDownLatch second = new CountDownLatch(1);
+    scheduler.schedule(() -> {
+      // The later task must not have run yet:
+      if (second.getCount() == 1) {
+        first.countDown();
+      }
+    }, Duration.ofMillis(10));
+    scheduler.schedule(second::countDown, Duration.ofMillis(60));
+
+    assertTrue(second.await(5, TimeUnit.SECONDS));
+    assertEquals(0, first.getCount());
+  }
+
+  @Test
+  public void testCancel() throws InterruptedException {
+    scheduler = new HashedWheelScheduler(executor, Duration.ofMillis(1), 16);
+
+    final CountDownLatch cancelled = new CountDownLatch(1);
+    final CountDownLatch other = new CountDownLatch(1);
+    final ScheduledFuture<?> future = scheduler.schedule(cancelled::countDown, Duration.ofMillis(20));
+    scheduler.schedule(other::countDown, Duration.ofMillis(50));
+
+    assertTrue(future.cancel(false));
+    assertTrue(future.isCancelled());
+
+    // Wait for a task with a later deadline, the cancelled task must not have run:
+    assertTrue(other.await(5, TimeUnit.SECONDS));
+    assertEquals(1, cancelled.getCount());
+  }
+
+  @Test
+  public void testShutdown() throws InterruptedException {
+    scheduler = new HashedWheelScheduler(executor, Duration.ofMillis(1), 16);
+
+    final CountDownLatch latch = new CountDownLatch(1);
+    scheduler.schedule(latch::countDown, Duration.ofMillis(50));
+    scheduler.shutdown();
+
+    assertFalse(latch.await(100, TimeUnit.MILLISECONDS));
+  }
+
+  @Test
+  public void testShutdownBeforeStart() {
+    // The timer thread is only started by the first delayed task:
+    scheduler = new HashedWheelScheduler(executor);
+    scheduler.shutdown();
+  }
+}
@@ -0,0 +1,161 @@
+package surge.actors.dispatchers;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.After;
+import org.junit.Test;
+import surge.actors.Path;
+
+public class PinnedSchedulerTest {
+
+  private final ScheduledExecutorService timer = Executors.newSingleThreadScheduledExecutor();
+  private PinnedScheduler scheduler;
+
+  @After
+  public void shutdown() {
+    if (scheduler != null) {
+      scheduler.shutdown();
+    }
+    timer.shutdownNow();
+  }
+
+  @Test
+  public void testSamePathSameLane() throws InterruptedException {
+    scheduler = new PinnedScheduler(timer, 4, IdleStrategy.park(), Integer.MAX_VALUE);
+
+    final Map<Path, Set<Thread>> threads = new ConcurrentHashMap<>();
+    final CountDownLatch done = new CountDownLatch(80);
+
+    for (int i = 0; i < 10; ++ i) {
+      for (int j = 0; j < 8; ++ j) {
+        final Path path = Path.of(Path.of("root"), "actor-" + j);
+        scheduler.schedule(path, () -> {
+          threads.computeIfAbsent(path, p -> ConcurrentHashMap.newKeySet())
+              .add(Thread.currentThread());
+          done.countDown();
+        });
+      }
+    }
+
+    assertTrue(done.await(5, TimeUnit.SECONDS));
+    assertEquals(8, threads.size());
+    for (final Set<Thread> pathThreads : threads.values()) {
+      assertEquals(1, pathThreads.size());
+    }
+  }
+
+  @Test
+  public void testStealAboveThreshold() throws InterruptedException {
+    scheduler = new PinnedScheduler(timer, 2, IdleStrategy.park(), 4);
+
+    final Set<String> threadNames = ConcurrentHashMap.newKeySet();
+    final CountDownLatch belowThreshold = new CountDownLatch(1);
+    final CountDownLatch addMore = new CountDownLatch(1);
+    final CountDownLatch aboveThreshold = new CountDownLatch(1);
+    final CountDownLatch release = new CountDownLatch(1);
+    final CountDownLatch done = new CountDownLatch(8);
+    final Runnable task = () -> {
+      threadNames.add(Thread.currentThread().getName());
+      done.countDown();
+    };
+
+    // The first task from outside the scheduler goes to the first lane. It blocks the
+    // lane after scheduling tasks on it:
+    scheduler.schedule(() -> {
+      try {
+        for (int i = 0; i < 4; ++ i) {
+          scheduler.schedule(task);
+        }
+        belowThreshold.countDown();
+        addMore.await();
+
+        for (int i = 0; i < 4; ++ i) {
+          scheduler.schedule(task);
+        }
+        aboveThreshold.countDown();
+        release.await();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    });
+
+    // The idle lane leaves a lane alone that is not overloaded:
+    assertTrue(belowThreshold.await(5, TimeUnit.SECONDS));
+    Thread.sleep(50);
+    assertEquals(4, scheduler.getQueueLength(0));
+    assertEquals(0, scheduler.getStolenTasks(1));
+
+    // It steals the tasks above the threshold:
+    addMore.countDown();
+    assertTrue(aboveThreshold.await(5, TimeUnit.SECONDS));
+    final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+    while (scheduler.getQueueLength(0) > 4 && System.nanoTime() < deadline) {
+      Thread.sleep(1);
+    }
+    assertEquals(4, scheduler.getQueueLength(0));
+    assertEquals(4, scheduler.getStolenTasks(1));
+
+    release.countDown();
+    assertTrue(done.await(5, TimeUnit.SECONDS));
+    assertEquals(0, scheduler.getStolenTasks(0));
+    assertEquals(2, threadNames.size());
+  }
+
+  @Test
+  public void testIdleStrategiesWakeUp() throws InterruptedException {
+    final List<IdleStrategy> strategies = Arrays.asList(
+        IdleStrategy.park(),
+        IdleStrategy.yielding(),
+        IdleStrategy.busySpin(),
+        IdleStrategy.backoff(10, 10, Duration.ofSeconds(10)));
+
+    for (final IdleStrategy strategy : strategies) {
+      final PinnedScheduler scheduler = new PinnedScheduler(timer, 1, strategy, 16);
+
+      try {
+        final CountDownLatch first = new CountDownLatch(1);
+        scheduler.schedule(first::countDown);
+        assertTrue(first.await(5, TimeUnit.SECONDS));
+
+        // Let the lane become idle, then wake it with a new task. The backoff strategy
+        // is parking by then, for longer than the test waits:
+        Thread.sleep(50);
+        final CountDownLatch second = new CountDownLatch(1);
+        scheduler.schedule(second::countDown);
+        assertTrue(second.await(1, TimeUnit.SECONDS));
+      } finally {
+        scheduler.shutdown();
+      }
+    }
+  }
+
+  @Test
+  public void testShutdown() throws InterruptedException {
+    scheduler = new PinnedScheduler(timer, 1, IdleStrategy.park(), 16);
+
+    final AtomicReference<Thread> thread = new AtomicReference<>();
+    final CountDownLatch latch = new CountDownLatch(1);
+    scheduler.schedule(() -> {
+      thread.set(Thread.currentThread());
+      latch.countDown();
+    });
+    assertTrue(latch.await(5, TimeUnit.SECONDS));
+
+    scheduler.shutdown();
+    thread.get().join(5_000);
+    assertFalse(thread.get().isAlive());
+  }
+}
@@ -0,0 +1,56 @@
+package surge.actors.lifecycle;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+import java.util.List;
+import org.junit.Test;
+import surge.actors.LifecycleListener;
+import surge.actors.Path;
+import surge.actors.mailboxes.Envelope;
+import surge.actors.test.ProbeActor;
+
+public class DeadLetterSinkTest {
+
+  private final ProbeActor sender = new ProbeActor();
+
+  @Test
+  public void testCounts() {
+    final DeadLetterSink sink = new DeadLetterSink(new LifecycleListener() { }, 4, 1, 1);
+    final ProbeActor a = new ProbeActor(Path.of("a"));
+    final ProbeActor b = new ProbeActor(Path.of("b"));
+
+    sink.deadLetter(a, new Envelope("1", sender));
+    sink.deadLetter(a, new Envelope(2, sender));
+    sink.deadLetter(b, new Envelope("3", sender));
+
+    assertEquals(3, sink.getTotal());
+
+    // Only the first recipient is counted, the second exceeds the bound:
+    assertEquals(1, sink.getCountsByRecipient().size());
+    assertEquals(Long.valueOf(2), sink.getCountsByRecipient().get(Path.of("a")));
+    assertFalse(sink.getCountsByRecipient().containsKey(Path.of("b")));
+
+    assertEquals(Long.valueOf(2), sink.getCountsByClass().get(String.class));
+    assertEquals(Long.valueOf(1), sink.getCountsByClass().get(Integer.class));
+  }
+
+  @Test
+  public void testSamplesAreBounded() {
+    final DeadLetterSink sink = new DeadLetterSink(new LifecycleListener() { }, 4, 2, 10);
+    final ProbeActor recipient = new ProbeActor(Path.of("a"));
+
+    for (int i = 0; i < 20; ++ i) {
+      sink.deadLetter(recipient, new Envelope(i, sender));
+    }
+
+    final List<DeadLetter> samples = sink.getSamples();
+
+    assertEquals(20, sink.getTotal());
+    assertEquals(4, samples.size());
+    for (final DeadLetter sample : samples) {
+      assertEquals(0, ((Integer) sample.getPayload()) % 2);
+      assertEquals(Path.of("a"), sample.getRecipient());
+    }
+  }
+}
@@ -0,0 +1,146 @@
+package surge.actors.mailboxes;
+
+import static org.junit.Assert.assertEquals;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.Test;
+import surge.actors.Receiver;
+import surge.actors.actors.LocalActor;
+import surge.actors.actors.LocalActorFactory;
+import surge.actors.test.ProbeActor;
+
+public class AbstractMailboxTest {
+
+  private final ProbeActor sender = new ProbeActor();
+  private final List<Object> received = new ArrayList<>();
+  private final List<Object> observed = new ArrayList<>();
+
+  @Test
+  public void testHandoffDeliversOnSameTask() {
+    final ConfiguredScheduler scheduler = new ConfiguredScheduler().maxHandoffs(1);
+    final LocalActorFactory factory = new LocalActorFactory(scheduler);
+    final LocalActor target = factory.spawn(context -> recorder(), "target");
+    final LocalActor source = factory.spawn(context -> forwarder(target), "source");
+    scheduler.runPending();
+
+    source.tell("go", sender);
+
+    // The idle target is drained by the task that drains the source:
+    assertEquals(1, scheduler.runPending());
+    assertEquals(Arrays.asList(1, 2, 3), received);
+  }
+
+  @Test
+  public void testHandoffDisabled() {
+    final ConfiguredScheduler scheduler = new ConfiguredScheduler();
+    final LocalActorFactory factory = new LocalActorFactory(scheduler);
+    final LocalActor target = factory.spawn(context -> recorder(), "target");
+    final LocalActor source = factory.spawn(context -> forwarder(target), "source");
+    scheduler.runPending();
+
+    source.tell("go", sender);
+
+    assertEquals(2, scheduler.runPending());
+    assertEquals(Arrays.asList(1, 2, 3), received);
+  }
+
+  @Test
+  public void testHandoffLimit() {
+    final ConfiguredScheduler scheduler = new ConfiguredScheduler().maxHandoffs(1);
+    final LocalActorFactory factory = new LocalActorFactory(scheduler);
+    final LocalActor last = factory.spawn(context -> recorder(), "last");
+    final LocalActor middle = factory.spawn(context -> forwarder(last), "middle");
+    final LocalActor first = factory.spawn(context -> forwarder(middle), "first");
+    scheduler.runPending();
+
+    first.tell("go", sender);
+
+    // The middle actor is handed off, the last one is scheduled once the limit is used:
+    assertEquals(2, scheduler.runPending());
+    assertEquals(9, received.size());
+  }
+
+  @Test
+  public void testHandoffHoldsOneMailbox() {
+    final ConfiguredScheduler scheduler = new ConfiguredScheduler().maxHandoffs(4);
+    final LocalActorFactory factory = new LocalActorFactory(scheduler);
+    final LocalActor left = factory.spawn(context -> recorder(), "left");
+    final LocalActor right = factory.spawn(context -> recorder(), "right");
+    final LocalActor source = factory.spawn(context -> Receiver.builder()
+        .matchAny((msg, ctx) -> {
+          left.tell("left", ctx.getSelf());
+          right.tell("right", ctx.getSelf());
+        })
+        .build(), "source");
+    scheduler.runPending();
+
+    source.tell("go", sender);
+
+    assertEquals(2, scheduler.runPending());
+    assertEquals(Arrays.asList("left", "right"), received);
+  }
+
+  @Test
+  public void testThroughput() {
+    final ConfiguredScheduler scheduler = new ConfiguredScheduler().throughput(2);
+    final LocalActor actor = new LocalActorFactory(scheduler).spawn(context -> recorder(),
+        "actor");
+    scheduler.runPending();
+
+    for (int i = 1; i <= 5; ++ i) {
+      actor.tell(i, sender);
+    }
+
+    // Each drain delivers two messages and schedules the mailbox again for the rest:
+    assertEquals(1, scheduler.getNumberOfPendingTasks());
+    assertEquals(3, scheduler.runPending());
+    assertEquals(Arrays.asList(1, 2, 3, 4, 5), received);
+  }
+
+  @Test
+  public void testThroughputDeadline() {
+    final ConfiguredScheduler scheduler = new ConfiguredScheduler()
+        .throughputDeadline(Duration.ofMillis(1));
+    final LocalActor actor = new LocalActorFactory(scheduler).spawn(context -> Receiver.builder()
+        .matchAny((msg, ctx) -> {
+          received.add(msg);
+          Thread.sleep(2);
+        })
+        .build(), "actor");
+    scheduler.runPending();
+
+    for (int i = 1; i <= 3; ++ i) {
+      actor.tell(i, sender);
+    }
+
+    // Every message takes longer than the deadline, each drain delivers one:
+    assertEquals(3, scheduler.runPending());
+    assertEquals(Arrays.asList(1, 2, 3), received);
+  }
+
+  /**
+   * Sends three messages to the target for every message, and records the number of
+   * messages in the mailbox of the target after each of them.
+   */
+  private Receiver forwarder(final LocalActor target) {
+    return Receiver.builder()
+        .matchAny((msg, ctx) -> {
+          for (int i = 1; i <= 3; ++ i) {
+            target.tell(i, ctx.getSelf());
+            observed.add(target.getNumberOfMessages());
+          }
+        })
+        .build();
+  }
+
+  private Receiver recorder() {
+    return Receiver.builder()
+        .matchAny((msg, ctx) -> {
+          received.add(msg);
+        })
+        .build();
+  }
+}
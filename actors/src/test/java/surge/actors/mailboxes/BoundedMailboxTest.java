@@ -0,0 +1,159 @@
+package surge.actors.mailboxes;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.Test;
+import surge.actors.Actor;
+import surge.actors.LifecycleListener;
+import surge.actors.Message;
+import surge.actors.Receiver;
+import surge.actors.SpawnOptions;
+import surge.actors.actors.LocalActor;
+import surge.actors.actors.LocalActorFactory;
+import surge.actors.mailboxes.BoundedMailbox.OverflowStrategy;
+import surge.actors.test.ManualScheduler;
+import surge.actors.test.ProbeActor;
+
+public class BoundedMailboxTest {
+
+  private final ManualScheduler scheduler = new ManualScheduler();
+  private final ProbeActor sender = new ProbeActor();
+  private final List<Object> received = new ArrayList<>();
+  private final List<Object> deadLetters = new ArrayList<>();
+
+  private final LifecycleListener listener = new LifecycleListener() {
+    @Override
+    public void deadLetter(final Actor actor, final Message message) {
+      deadLetters.add(message.getPayload());
+    }
+  };
+
+  @Test
+  public void testReject() {
+    final LocalActor actor = spawn(OverflowStrategy.REJECT, Duration.ZERO);
+
+    assertTrue(actor.tryTell(1, sender));
+    assertTrue(actor.tryTell(2, sender));
+    assertFalse(actor.tryTell(3, sender));
+    assertEquals(2, actor.getNumberOfMessages());
+    assertEquals(Arrays.asList(3), deadLetters);
+
+    scheduler.runPending();
+    assertEquals(Arrays.asList(1, 2), received);
+    assertEquals(0, actor.getNumberOfMessages());
+  }
+
+  @Test
+  public void testDropNewest() {
+    final LocalActor actor = spawn(OverflowStrategy.DROP_NEWEST, Duration.ZERO);
+
+    assertTrue(actor.tryTell(1, sender));
+    assertTrue(actor.tryTell(2, sender));
+    assertTrue(actor.tryTell(3, sender));
+    assertEquals(2, actor.getNumberOfMessages());
+    assertEquals(Arrays.asList(3), deadLetters);
+
+    scheduler.runPending();
+    assertEquals(Arrays.asList(1, 2), received);
+    assertEquals(0, actor.getNumberOfMessages());
+  }
+
+  @Test
+  public void testDropOldest() {
+    final LocalActor actor = spawn(OverflowStrategy.DROP_OLDEST, Duration.ZERO);
+
+    assertTrue(actor.tryTell(1, sender));
+    assertTrue(actor.tryTell(2, sender));
+    assertTrue(actor.tryTell(3, sender));
+    assertEquals(2, actor.getNumberOfMessages());
+    assertEquals(Arrays.asList(1), deadLetters);
+
+    scheduler.runPending();
+    assertEquals(Arrays.asList(2, 3), received);
+    assertEquals(0, actor.getNumberOfMessages());
+  }
+
+  @Test
+  public void testBlockTimesOut() {
+    final LocalActor actor = spawn(OverflowStrategy.BLOCK, Duration.ofMillis(10));
+
+    assertTrue(actor.tryTell(1, sender));
+    assertTrue(actor.tryTell(2, sender));
+
+    // Nothing drains the mailbox while the sender waits:
+    final long start = System.nanoTime();
+    assertFalse(actor.tryTell(3, sender));
+    assertTrue(System.nanoTime() - start >= Duration.ofMillis(10).toNanos());
+    assertEquals(Arrays.asList(3), deadLetters);
+
+    scheduler.runPending();
+    assertEquals(Arrays.asList(1, 2), received);
+  }
+
+  @Test
+  public void testBlockWaitsForRoom() throws Exception {
+    final LocalActor actor = spawn(OverflowStrategy.BLOCK, Duration.ofSeconds(10));
+
+    assertTrue(actor.tryTell(1, sender));
+    assertTrue(actor.tryTell(2, sender));
+
+    final Thread drainer = new Thread(() -> {
+      try {
+        Thread.sleep(10);
+      } catch (InterruptedException e) {
+        return;
+      }
+      scheduler.runPending();
+    });
+    drainer.start();
+
+    assertTrue(actor.tryTell(3, sender));
+    drainer.join();
+
+    scheduler.runPending();
+    assertEquals(Arrays.asList(1, 2, 3), received);
+    assertTrue(deadLetters.isEmpty());
+  }
+
+  @Test
+  public void testChildrenInheritMailboxFactory() {
+    final LocalActorFactory factory = new LocalActorFactory(scheduler,
+        BoundedMailbox.factory(1, OverflowStrategy.REJECT), listener);
+    final AtomicReference<Actor> child = new AtomicReference<>();
+
+    factory.spawn(context -> {
+      child.set(context.spawn(childContext -> receiver(), "child", SpawnOptions.defaults()));
+      return receiver();
+    }, "parent");
+    scheduler.runPending();
+
+    assertTrue(child.get().tryTell(1, sender));
+    assertFalse(child.get().tryTell(2, sender));
+  }
+
+  private LocalActor spawn(final OverflowStrategy strategy, final Duration pushTimeout) {
+    final LocalActorFactory factory = new LocalActorFactory(scheduler, DefaultMailbox::new,
+        listener);
+    final LocalActor actor = factory.spawn(context -> receiver(), "bounded",
+        SpawnOptions.builder().mailbox(BoundedMailbox.factory(2, strategy, pushTimeout)).build());
+
+    // Deliver the initial unsuspend message:
+    scheduler.runPending();
+    return actor;
+  }
+
+  private Receiver receiver() {
+    return Receiver.builder()
+        .matchAny((msg, context) -> {
+          received.add(msg);
+        })
+        .build();
+  }
+}
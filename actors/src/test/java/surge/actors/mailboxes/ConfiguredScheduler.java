@@ -0,0 +1,55 @@
+package surge.actors.mailboxes;
+
+import java.time.Duration;
+import surge.actors.test.ManualScheduler;
+
+/**
+ * Manual scheduler with the delivery settings of a test. Settings that are not set keep
+ * the defaults of {@link surge.actors.Scheduler}.
+ */
+class ConfiguredScheduler extends ManualScheduler {
+  private int throughput = Integer.MAX_VALUE;
+  private Duration throughputDeadline = Duration.ZERO;
+  private int maxHandoffs = 0;
+  private int outboxCapacity = 0;
+
+  ConfiguredScheduler throughput(final int throughput) {
+    this.throughput = throughput;
+    return this;
+  }
+
+  ConfiguredScheduler throughputDeadline(final Duration throughputDeadline) {
+    this.throughputDeadline = throughputDeadline;
+    return this;
+  }
+
+  ConfiguredScheduler maxHandoffs(final int maxHandoffs) {
+    this.maxHandoffs = maxHandoffs;
+    return this;
+  }
+
+  ConfiguredScheduler outboxCapacity(final int outboxCapacity) {
+    this.outboxCapacity = outboxCapacity;
+    return this;
+  }
+
+  @Override
+  public int getThroughput() {
+    return throughput;
+  }
+
+  @Override
+  public Duration getThroughputDeadline() {
+    return throughputDeadline;
+  }
+
+  @Override
+  public int getMaxHandoffs() {
+    return maxHandoffs;
+  }
+
+  @Override
+  public int getOutboxCapacity() {
+    return outboxCapacity;
+  }
+}
@@ -0,0 +1,215 @@
+package surge.actors.mailboxes;
+
+import static org.junit.Assert.assertEquals;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Function;
+import org.junit.Test;
+import surge.actors.Actor;
+import surge.actors.ActorFactory.FactoryWithContext;
+import surge.actors.Filter;
+import surge.actors.LifecycleListener;
+import surge.actors.Message;
+import surge.actors.Message.PublishMode;
+import surge.actors.PrivateContext;
+import surge.actors.Receiver;
+import surge.actors.Scheduler;
+import surge.actors.SpawnOptions;
+import surge.actors.actors.LocalActor;
+import surge.actors.actors.LocalActorFactory;
+import surge.actors.messages.MailboxUnsuspend;
+import surge.actors.messages.Stop;
+import surge.actors.test.ManualScheduler;
+import surge.actors.test.ProbeActor;
+
+public class ConflatingMailboxTest {
+
+  private final ManualScheduler scheduler = new ManualScheduler();
+  private final ProbeActor sender = new ProbeActor();
+  private final List<Object> received = new ArrayList<>();
+
+  @Test
+  public void testConflatesByKey() {
+    final LocalActor actor = spawn();
+
+    actor.tell("a1", sender);
+    actor.tell("b1", sender);
+    actor.tell("a2", sender);
+    actor.tell("a3", sender);
+
+    // Replaced messages are no longer counted:
+    assertEquals(2, actor.getNumberOfMessages());
+
+    scheduler.runPending();
+    assertEquals(Arrays.asList("a3", "b1"), received);
+    assertEquals(0, actor.getNumberOfMessages());
+  }
+
+  @Test
+  public void testMessagesWithoutKey() {
+    final LocalActor actor = spawn();
+
+    actor.tell(1, sender);
+    actor.tell("a1", sender);
+    actor.tell(1, sender);
+    actor.tell("a2", sender);
+    actor.tell(new Stop(), sender);
+    actor.tell(new Stop(), sender);
+    assertEquals(5, actor.getNumberOfMessages());
+
+    // The Stop messages are not conflated, both reach the actor:
+    scheduler.runPending();
+    assertEquals(Arrays.asList(1, "a2", 1), received.subList(0, 3));
+    assertEquals(2, received.stream().filter(msg -> msg instanceof Stop).count());
+  }
+
+  @Test
+  public void testFailingKeyExtractor() {
+    final LocalActor actor = spawn(payload -> {
+      if ("fail".equals(payload)) {
+        throw new IllegalStateException("no key");
+      }
+      return payload instanceof String ? ((String) payload).substring(0, 1) : null;
+    });
+
+    // The sender doesn't see the exception, the message is not conflated:
+    actor.tell("fail", sender);
+    actor.tell("fail", sender);
+    assertEquals(2, actor.getNumberOfMessages());
+
+    scheduler.runPending();
+    assertEquals(Arrays.asList("fail", "fail"), received);
+  }
+
+  @Test
+  public void testPublishedMessagesPassThrough() {
+    final RecordingContext context = new RecordingContext();
+    final ConflatingMailbox mailbox = new ConflatingMailbox(context, this::key);
+    mailbox.enqueueSystemMessage(new Envelope(new MailboxUnsuspend(), sender));
+    scheduler.runPending();
+
+    // Published messages are forwarded to the children, they are never conflated:
+    mailbox.enqueue(new Envelope("a1", sender, Filter.of("child")));
+    mailbox.enqueue(new Envelope("a2", sender, Filter.of("child")));
+    mailbox.enqueue(new Envelope("a3", sender));
+    assertEquals(3, mailbox.getNumberOfMessages());
+
+    scheduler.runPending();
+    assertEquals(Arrays.asList("a1", "a2", "a3"), received);
+    assertEquals(Arrays.asList(PublishMode.PUBLISH_ONLY, PublishMode.PUBLISH_ONLY,
+        PublishMode.LOCAL_AND_PUBLISH), context.publishModes);
+  }
+
+  private LocalActor spawn() {
+    return spawn(this::key);
+  }
+
+  private LocalActor spawn(final Function<Object, ?> keyExtractor) {
+    final LocalActor actor = new LocalActorFactory(scheduler).spawn(context -> recorder(),
+        "conflating",
+        SpawnOptions.builder().mailbox(ConflatingMailbox.factory(keyExtractor)).build());
+
+    // Deliver the initial unsuspend message:
+    scheduler.runPending();
+    return actor;
+  }
+
+  /**
+   * Strings are keyed by their first character, other messages have no key.
+   */
+  private Object key(final Object payload) {
+    return payload instanceof String ? ((String) payload).substring(0, 1) : null;
+  }
+
+  private Receiver recorder() {
+    return Receiver.builder()
+        .matchAny((msg, context) -> {
+          received.add(msg);
+        })
+        .build();
+  }
+
+  /**
+   * Context of a mailbox without an actor, that records the messages it is given.
+   */
+  private class RecordingContext implements PrivateContext {
+    private final List<PublishMode> publishModes = new ArrayList<>();
+
+    @Override
+    public boolean dispatchMessage(final Message message) {
+      received.add(message.getPayload());
+      publishModes.add(message.getPublishMode());
+      return true;
+    }
+
+    @Override
+    public LifecycleListener getLifecycleListener() {
+      return new LifecycleListener() {};
+    }
+
+    @Override
+    public Actor getSelf() {
+      return sender;
+    }
+
+    @Override
+    public Optional<Actor> getParent() {
+      return Optional.empty();
+    }
+
+    @Override
+    public Receiver getReceiver() {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public Scheduler getScheduler() {
+      return scheduler;
+    }
+
+    @Override
+    public Actor spawn(final FactoryWithContext entry) {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public Actor spawn(final FactoryWithContext entry, final String name) {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public Actor spawn(final FactoryWithContext entry, final String name,
+        final SpawnOptions options) {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public Receiver stop() {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public Receiver kill() {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void setReceiveTimeout(final Duration timeout) {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void watch(final Actor actorToWatch) {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void unwatch(final Actor actorToUnwatch) {
+      throw new UnsupportedOperationException();
+    }
+  }
+}
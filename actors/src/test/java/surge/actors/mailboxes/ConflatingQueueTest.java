@@ -0,0 +1,64 @@
+package surge.actors.mailboxes;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import org.junit.Test;
+import surge.actors.test.ProbeActor;
+
+public class ConflatingQueueTest {
+
+  private final ProbeActor sender = new ProbeActor();
+
+  @Test
+  public void testReplacesInPlace() {
+    final ConflatingQueue queue = new ConflatingQueue();
+    final Envelope a1 = new Envelope("a1", sender);
+    final Envelope b1 = new Envelope("b1", sender);
+    final Envelope a2 = new Envelope("a2", sender);
+    final Envelope c1 = new Envelope("c1", sender);
+    final Envelope b2 = new Envelope("b2", sender);
+
+    assertNull(queue.offer("a", a1));
+    assertNull(queue.offer("b", b1));
+    assertSame(a1, queue.offer("a", a2));
+    assertNull(queue.offer("c", c1));
+    assertSame(b1, queue.offer("b", b2));
+    assertEquals(3, queue.size());
+
+    // Keys keep the position of their first message:
+    assertSame(a2, queue.poll());
+    assertSame(b2, queue.poll());
+    assertSame(c1, queue.poll());
+    assertNull(queue.poll());
+    assertEquals(0, queue.size());
+
+    // A key that has been delivered is added at the end again:
+    final Envelope a3 = new Envelope("a3", sender);
+    final Envelope d1 = new Envelope("d1", sender);
+    assertNull(queue.offer("d", d1));
+    assertNull(queue.offer("a", a3));
+    assertSame(d1, queue.poll());
+    assertSame(a3, queue.poll());
+  }
+
+  @Test
+  public void testMessagesWithoutKey() {
+    final ConflatingQueue queue = new ConflatingQueue();
+    final Envelope a1 = new Envelope("a1", sender);
+    final Envelope x = new Envelope("x", sender);
+    final Envelope y = new Envelope("y", sender);
+    final Envelope a2 = new Envelope("a2", sender);
+
+    assertNull(queue.offer("a", a1));
+    assertNull(queue.offer(null, x));
+    assertNull(queue.offer(null, y));
+    assertSame(a1, queue.offer("a", a2));
+
+    assertSame(a2, queue.poll());
+    assertSame(x, queue.poll());
+    assertSame(y, queue.poll());
+    assertNull(queue.poll());
+  }
+}
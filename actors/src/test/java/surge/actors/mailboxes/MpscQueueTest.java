@@ -0,0 +1,117 @@
+package surge.actors.mailboxes;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import org.junit.Test;
+import surge.actors.test.ProbeActor;
+
+public class MpscQueueTest {
+
+  private final ProbeActor sender = new ProbeActor();
+
+  @Test
+  public void testFifo() {
+    final MpscQueue queue = new MpscQueue();
+    final Envelope a = new Envelope("a", sender);
+    final Envelope b = new Envelope("b", sender);
+
+    assertTrue(queue.isEmpty());
+    assertNull(queue.poll());
+
+    queue.offer(a);
+    queue.offer(b);
+
+    assertFalse(queue.isEmpty());
+    assertSame(a, queue.poll());
+    assertSame(b, queue.poll());
+    assertNull(queue.poll());
+    assertTrue(queue.isEmpty());
+
+    // The queue must remain usable after it has been emptied:
+    queue.offer(a);
+    assertSame(a, queue.poll());
+    assertNull(queue.poll());
+  }
+
+  @Test
+  public void testOfferAll() {
+    final MpscQueue queue = new MpscQueue();
+    final Envelope a = new Envelope("a", sender);
+    final Envelope b = new Envelope("b", sender);
+    final Envelope c = new Envelope("c", sender);
+    final Envelope d = new Envelope("d", sender);
+
+    queue.offer(a);
+
+    MpscQueue.link(b, c);
+    MpscQueue.link(c, d);
+    queue.offerAll(b, d);
+
+    // A chain of a single envelope:
+    final Envelope e = new Envelope("e", sender);
+    queue.offerAll(e, e);
+
+    assertSame(a, queue.poll());
+    assertSame(b, queue.poll());
+    assertSame(c, queue.poll());
+    assertSame(d, queue.poll());
+    assertSame(e, queue.poll());
+    assertNull(queue.poll());
+    assertTrue(queue.isEmpty());
+  }
+
+  @Test
+  public void testMultipleProducers() throws Exception {
+    final MpscQueue queue = new MpscQueue();
+    final int producers = 4;
+    final int messagesPerProducer = 10000;
+    final CountDownLatch start = new CountDownLatch(1);
+    final List<Thread> threads = new ArrayList<>();
+
+    for (int p = 0; p < producers; ++ p) {
+      final int producer = p;
+      final Thread thread = new Thread(() -> {
+        try {
+          start.await();
+        } catch (InterruptedException e) {
+          return;
+        }
+        for (int i = 0; i < messagesPerProducer; ++ i) {
+          queue.offer(new Envelope(new int[] { producer, i }, sender));
+        }
+      });
+      thread.start();
+      threads.add(thread);
+    }
+
+    start.countDown();
+
+    // Messages of a single producer must be received in order:
+    final int[] expected = new int[producers];
+    int received = 0;
+    while (received < producers * messagesPerProducer) {
+      final Envelope envelope = queue.poll();
+      if (envelope == null) {
+        Thread.yield();
+        continue;
+      }
+
+      final int[] payload = (int[]) envelope.getPayload();
+      assertEquals(expected[payload[0]], payload[1]);
+      ++ expected[payload[0]];
+      ++ received;
+    }
+
+    for (final Thread thread : threads) {
+      thread.join();
+    }
+    assertNull(queue.poll());
+  }
+}
@@ -0,0 +1,118 @@
+package surge.actors.mailboxes;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.Test;
+import surge.actors.Receiver;
+import surge.actors.SpawnOptions;
+import surge.actors.actors.LocalActor;
+import surge.actors.actors.LocalActorFactory;
+import surge.actors.mailboxes.BoundedMailbox.OverflowStrategy;
+import surge.actors.test.ProbeActor;
+
+public class OutboxTest {
+
+  private final ProbeActor sender = new ProbeActor();
+  private final List<Object> received = new ArrayList<>();
+  private final List<Object> observed = new ArrayList<>();
+
+  @Test
+  public void testEnqueuesWhenReceiverReturns() {
+    final ConfiguredScheduler scheduler = new ConfiguredScheduler().outboxCapacity(16);
+    final LocalActorFactory factory = new LocalActorFactory(scheduler);
+    final LocalActor target = factory.spawn(context -> recorder(), "target");
+    final LocalActor source = factory.spawn(context -> forwarder(target), "source");
+    scheduler.runPending();
+
+    source.tell("go", sender);
+    scheduler.runPending();
+
+    assertEquals(Arrays.asList(0, 0, 0), observed);
+    assertEquals(Arrays.asList(1, 2, 3), received);
+  }
+
+  @Test
+  public void testFlushesWhenFull() {
+    final ConfiguredScheduler scheduler = new ConfiguredScheduler().outboxCapacity(2);
+    final LocalActorFactory factory = new LocalActorFactory(scheduler);
+    final LocalActor target = factory.spawn(context -> recorder(), "target");
+    final LocalActor source = factory.spawn(context -> forwarder(target), "source");
+    scheduler.runPending();
+
+    source.tell("go", sender);
+    scheduler.runPending();
+
+    assertEquals(Arrays.asList(0, 2, 2), observed);
+    assertEquals(Arrays.asList(1, 2, 3), received);
+  }
+
+  @Test
+  public void testKeepsOrderWithTellAll() {
+    final ConfiguredScheduler scheduler = new ConfiguredScheduler().outboxCapacity(16);
+    final LocalActorFactory factory = new LocalActorFactory(scheduler);
+    final LocalActor target = factory.spawn(context -> recorder(), "target");
+    final LocalActor source = factory.spawn(context -> Receiver.builder()
+        .matchAny((msg, ctx) -> {
+          target.tell(1, ctx.getSelf());
+          target.tellAll(Arrays.asList(2, 3), ctx.getSelf());
+          target.tell(4, ctx.getSelf());
+          observed.add(target.getNumberOfMessages());
+        })
+        .build(), "source");
+    scheduler.runPending();
+
+    source.tell("go", sender);
+    scheduler.runPending();
+
+    assertEquals(Arrays.asList(0), observed);
+    assertEquals(Arrays.asList(1, 2, 3, 4), received);
+  }
+
+  @Test
+  public void testBypassedByRejectingMailbox() {
+    final ConfiguredScheduler scheduler = new ConfiguredScheduler().outboxCapacity(16);
+    final LocalActorFactory factory = new LocalActorFactory(scheduler);
+    final LocalActor target = factory.spawn(context -> recorder(), "target",
+        SpawnOptions.builder().mailbox(BoundedMailbox.factory(1, OverflowStrategy.REJECT)).build());
+    final LocalActor source = factory.spawn(context -> Receiver.builder()
+        .matchAny((msg, ctx) -> {
+          // The sender learns about a full mailbox right away:
+          observed.add(target.tryTell(1, ctx.getSelf()));
+          observed.add(target.tryTell(2, ctx.getSelf()));
+        })
+        .build(), "source");
+    scheduler.runPending();
+
+    source.tell("go", sender);
+    scheduler.runPending();
+
+    assertEquals(Arrays.asList(true, false), observed);
+    assertEquals(Arrays.asList(1), received);
+  }
+
+  /**
+   * Sends three messages to the target for every message, and records the number of
+   * messages in the mailbox of the target after each of them.
+   */
+  private Receiver forwarder(final LocalActor target) {
+    return Receiver.builder()
+        .matchAny((msg, ctx) -> {
+          for (int i = 1; i <= 3; ++ i) {
+            target.tell(i, ctx.getSelf());
+            observed.add(target.getNumberOfMessages());
+          }
+        })
+        .build();
+  }
+
+  private Receiver recorder() {
+    return Receiver.builder()
+        .matchAny((msg, ctx) -> {
+          received.add(msg);
+        })
+        .build();
+  }
+}
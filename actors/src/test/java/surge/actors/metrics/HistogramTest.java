@@ -0,0 +1,68 @@
+package surge.actors.metrics;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+public class HistogramTest {
+
+  @Test
+  public void testBucketsAreContiguous() {
+    for (int bucket = 0; bucket < Histogram.bucketOf(Long.MAX_VALUE); ++ bucket) {
+      final long highest = Histogram.highestValueOf(bucket);
+
+      assertEquals(bucket, Histogram.bucketOf(highest));
+      assertEquals(bucket + 1, Histogram.bucketOf(highest + 1));
+    }
+  }
+
+  @Test
+  public void testRelativeError() {
+    for (long value = 1; value > 0 && value < Long.MAX_VALUE / 3; value = value * 3 + 1) {
+      final long highest = Histogram.highestValueOf(Histogram.bucketOf(value));
+
+      assertTrue(highest >= value);
+      assertTrue(highest - value <= value / 8);
+    }
+  }
+
+  @Test
+  public void testPercentiles() {
+    final Histogram histogram = new Histogram();
+    for (int i = 1; i <= 100; ++ i) {
+      histogram.record(i * 1000L);
+    }
+
+    final Histogram.Snapshot snapshot = histogram.snapshot();
+
+    assertEquals(100, snapshot.getCount());
+    assertEquals(100_000, snapshot.getMax());
+    assertEquals(50_500.0, snapshot.getMean(), 0.001);
+    assertWithinError(50_000, snapshot.getValueAtPercentile(50));
+    assertWithinError(99_000, snapshot.getValueAtPercentile(99));
+    assertEquals(100_000, snapshot.getValueAtPercentile(100));
+    assertEquals(0, Histogram.Snapshot.empty().getValueAtPercentile(99));
+  }
+
+  @Test
+  public void testMerge() {
+    final Histogram a = new Histogram();
+    final Histogram b = new Histogram();
+    a.record(10);
+    b.record(20);
+    b.record(-5);
+
+    final Histogram.Snapshot merged = a.snapshot().merge(b.snapshot());
+
+    assertEquals(3, merged.getCount());
+    assertEquals(20, merged.getMax());
+    assertEquals(0, merged.getValueAtPercentile(0));
+    assertEquals(10.0, merged.getMean(), 0.001);
+  }
+
+  private static void assertWithinError(final long expected, final long actual) {
+    assertTrue("expected " + expected + " but was " + actual,
+        actual >= expected && actual - expected <= expected / 8);
+  }
+}
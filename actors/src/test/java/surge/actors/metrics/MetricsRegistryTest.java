@@ -0,0 +1,113 @@
+package surge.actors.metrics;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.Test;
+import surge.actors.Mailbox;
+import surge.actors.Message;
+import surge.actors.Path;
+import surge.actors.Receiver;
+import surge.actors.actors.LocalActor;
+import surge.actors.actors.LocalActorFactory;
+import surge.actors.test.ManualScheduler;
+import surge.actors.test.ProbeActor;
+import surge.actors.test.TestScheduler;
+
+public class MetricsRegistryTest {
+
+  private final Mailbox mailbox = new Mailbox() {
+    @Override
+    public boolean enqueue(final Message message) {
+      return true;
+    }
+
+    @Override
+    public void enqueueSystemMessage(final Message message) {
+    }
+
+    @Override
+    public int getNumberOfMessages() {
+      return 3;
+    }
+  };
+
+  @Test
+  public void testCombinedCollectors() {
+    final MetricsRegistry first = new MetricsRegistry();
+    final MetricsRegistry second = new MetricsRegistry();
+    final InstrumentedScheduler scheduler =
+        new InstrumentedScheduler(new TestScheduler(), first, second);
+
+    final Path path = Path.of("actor");
+    final ActorMetrics recorder = scheduler.getMetrics().get().register(path, mailbox);
+    recorder.recordScheduled();
+    recorder.recordQueueDelay(100);
+    recorder.recordMessage(1000, true);
+
+    for (final MetricsRegistry registry : new MetricsRegistry[] { first, second }) {
+      final ActorMetricsSnapshot snapshot = registry.snapshot(path).get();
+      assertEquals(3, snapshot.getMailboxSize());
+      assertEquals(1, snapshot.getMessages());
+      assertEquals(1, snapshot.getFailures());
+      assertEquals(1, snapshot.getQueueDelay().getCount());
+      assertEquals(1, registry.snapshot().getRunningDrains());
+    }
+
+    recorder.close();
+    assertFalse(first.snapshot(path).isPresent());
+    assertFalse(second.snapshot(path).isPresent());
+  }
+
+  @Test
+  public void testSchedulerSnapshot() {
+    final MetricsRegistry registry = new MetricsRegistry();
+    final ActorMetrics a = registry.register(Path.of("a"), mailbox);
+    final ActorMetrics b = registry.register(Path.of("b"), mailbox);
+
+    a.recordMessage(10, false);
+    b.recordMessage(20, true);
+    b.recordMessage(30, false);
+    b.recordQueueDelay(5);
+
+    final SchedulerMetricsSnapshot snapshot = registry.snapshot();
+    assertEquals(2, snapshot.getActors());
+    assertEquals(6, snapshot.getMailboxSize());
+    assertEquals(3, snapshot.getMessages());
+    assertEquals(1, snapshot.getFailures());
+    assertEquals(30, snapshot.getProcessingTime().getMax());
+    assertEquals(20.0, snapshot.getProcessingTime().getMean(), 0.001);
+    assertEquals(1, snapshot.getQueueDelay().getCount());
+    assertEquals(1, snapshot.getRunningDrains());
+  }
+
+  @Test
+  public void testDrainCounters() {
+    final MetricsRegistry registry = new MetricsRegistry();
+    final ManualScheduler scheduler = new ManualScheduler();
+    final AtomicReference<SchedulerMetricsSnapshot> duringDrain = new AtomicReference<>();
+
+    final LocalActor actor = new LocalActorFactory(new InstrumentedScheduler(scheduler, registry))
+        .spawn(context -> Receiver.builder()
+            .matchAny((msg, ctx) -> {
+              duringDrain.set(registry.snapshot());
+            })
+            .build(), "actor");
+    scheduler.runPending();
+    assertEquals(0, registry.snapshot().getScheduledDrains());
+    assertEquals(0, registry.snapshot().getRunningDrains());
+
+    // The drain is scheduled, but hasn't started:
+    actor.tell("message", new ProbeActor());
+    assertEquals(1, registry.snapshot().getScheduledDrains());
+    assertEquals(0, registry.snapshot().getRunningDrains());
+
+    // The drain is running while the message is handled, and idle afterwards:
+    scheduler.runPending();
+    assertEquals(0, duringDrain.get().getScheduledDrains());
+    assertEquals(1, duringDrain.get().getRunningDrains());
+    assertEquals(0, registry.snapshot().getScheduledDrains());
+    assertEquals(0, registry.snapshot().getRunningDrains());
+  }
+}
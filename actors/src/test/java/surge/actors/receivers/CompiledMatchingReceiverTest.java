@@ -0,0 +1,77 @@
+package surge.actors.receivers;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Before;
+import org.junit.Test;
+import surge.actors.ReceiveException;
+import surge.actors.Receiver;
+import surge.actors.test.ProbeActor;
+import surge.actors.test.ReceiverTest;
+
+public class CompiledMatchingReceiverTest {
+
+  private List<String> handled;
+  private ProbeActor sender;
+
+  @Before
+  public void createProbes() {
+    handled = new ArrayList<>();
+    sender = new ProbeActor();
+  }
+
+  private MatchingReceiver.Builder builder() {
+    return Receiver.builder()
+        .equals("exact", (msg, ctx) -> { handled.add("equals"); })
+        .match(String.class, s -> s.startsWith("a"), (msg, ctx) -> { handled.add("prefix"); })
+        .match(CharSequence.class, (msg, ctx) -> { handled.add("charSequence"); })
+        .match(String.class, (msg, ctx) -> { handled.add("unreachable"); })
+        .match(Integer.class, (msg, ctx) -> { handled.add("integer"); });
+  }
+
+  private List<String> receiveAll(final Receiver receiver) throws Exception {
+    final ReceiverTest test = ReceiverTest.of(receiver);
+
+    handled.clear();
+    for (final Object msg : new Object[] { "exact", "abc", "xyz", new StringBuilder("a"), 42, 4.2, "exact" }) {
+      test.receive(msg, sender);
+    }
+    return new ArrayList<>(handled);
+  }
+
+  @Test
+  public void testFirstMatchSemantics() throws Exception {
+    final List<String> expected = List.of("equals", "prefix", "charSequence", "charSequence",
+        "integer", "equals");
+
+    assertEquals(expected, receiveAll(builder().build()));
+    assertEquals(expected, receiveAll(builder().compile()));
+  }
+
+  @Test
+  public void testUnmatchedMessage() throws Exception {
+    final Receiver receiver = builder().compile();
+
+    assertEquals(false, receiver.receive(4.2, null).isPresent());
+  }
+
+  @Test
+  public void testFailingPredicateIsWrapped() throws Exception {
+    final IllegalStateException failure = new IllegalStateException("predicate");
+    final MatchingReceiver.Builder builder = Receiver.builder()
+        .match(String.class, s -> { throw failure; }, (msg, ctx) -> { handled.add("string"); });
+
+    for (final Receiver receiver : new Receiver[] { builder.build(), builder.compile() }) {
+      try {
+        receiver.receive("message", null);
+        fail("Expected a ReceiveException");
+      } catch (ReceiveException e) {
+        assertSame(failure, e.getCause());
+      }
+    }
+  }
+}